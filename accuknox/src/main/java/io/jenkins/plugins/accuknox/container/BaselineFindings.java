@@ -0,0 +1,118 @@
+package io.jenkins.plugins.accuknox.container;
+
+import hudson.model.Job;
+import io.jenkins.plugins.accuknox.findings.Finding;
+import io.jenkins.plugins.accuknox.findings.Severity;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Per-job cache of the findings of baseline images, so that the image in
+ * production is scanned once rather than on every release build.
+ *
+ * Entries live in {@code <jobDir>/accuknox-baseline/<key>.tsv.gz}, one
+ * finding per line ({@code severity rule path line message}, tab
+ * separated). The key covers the baseline and scanner image ids; entries
+ * also expire after {@link #TTL_MS} so that newly published CVEs against
+ * the baseline are not reported as new in the next release. Only the
+ * {@link #MAX_ENTRIES} newest entries are kept.
+ */
+final class BaselineFindings {
+
+    static final String DIR = "accuknox-baseline";
+    static final long TTL_MS = TimeUnit.HOURS.toMillis(24);
+    static final int MAX_ENTRIES = 8;
+
+    private static final String SUFFIX = ".tsv.gz";
+
+    private BaselineFindings() {
+        // utility class
+    }
+
+    /** Cached findings under {@code key}, or {@code null} if there are none or they expired. */
+    static List<Finding> load(Job<?, ?> job, String key) throws IOException {
+        File f = file(job, key);
+        if (!f.isFile() || System.currentTimeMillis() - f.lastModified() > TTL_MS) {
+            return null;
+        }
+        List<Finding> out = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(f.toPath())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] c = line.split("\t", -1);
+                if (c.length < 5) {
+                    continue;
+                }
+                int lineNo;
+                try {
+                    lineNo = Integer.parseInt(c[3]);
+                } catch (NumberFormatException e) {
+                    lineNo = 0;
+                }
+                out.add(new Finding("CONTAINER", Severity.parse(c[0]), c[1], c[2], lineNo, c[4]));
+            }
+        }
+        return out;
+    }
+
+    /** Replaces the entry under {@code key} and drops the oldest entries beyond {@link #MAX_ENTRIES}. */
+    static void store(Job<?, ?> job, String key, List<Finding> findings) throws IOException {
+        File f = file(job, key);
+        Files.createDirectories(f.getParentFile().toPath());
+        // concurrent builds may store the same key; each writes its own file and the last move wins
+        File tmp = Files.createTempFile(f.getParentFile().toPath(), key, ".tmp").toFile();
+        try {
+            try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmp.toPath())), StandardCharsets.UTF_8))) {
+                for (Finding x : findings) {
+                    out.write(x.getSeverity().name() + "\t" + field(x.getRuleId()) + "\t" + field(x.getPath())
+                            + "\t" + x.getLine() + "\t" + field(x.getMessage()));
+                    out.newLine();
+                }
+            }
+            Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+        prune(f.getParentFile());
+    }
+
+    private static void prune(File dir) {
+        File[] entries = dir.listFiles((d, name) -> name.endsWith(SUFFIX));
+        if (entries == null || entries.length <= MAX_ENTRIES) {
+            return;
+        }
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = MAX_ENTRIES; i < entries.length; i++) {
+            try {
+                Files.deleteIfExists(entries[i].toPath());
+            } catch (IOException e) {
+                // retried on the next store
+            }
+        }
+    }
+
+    private static String field(String s) {
+        return s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static File file(Job<?, ?> job, String key) {
+        return new File(new File(job.getRootDir(), DIR), key + SUFFIX);
+    }
+}
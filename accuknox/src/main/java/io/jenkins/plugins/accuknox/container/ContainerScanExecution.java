@@ -1,11 +1,35 @@
 package io.jenkins.plugins.accuknox.container;
 
 import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.Proc;
+import hudson.Util;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import io.jenkins.plugins.accuknox.docker.DockerImages;
+import io.jenkins.plugins.accuknox.docker.ScanContainers;
+import io.jenkins.plugins.accuknox.findings.Finding;
+import io.jenkins.plugins.accuknox.findings.FindingsTap;
+import io.jenkins.plugins.accuknox.report.FindingsDelta;
+import io.jenkins.plugins.accuknox.report.FindingsStore;
 import io.jenkins.plugins.accuknox.shared.AccuKnoxBaseExecution;
+import io.jenkins.plugins.accuknox.shared.ScanOutcome;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Execution for {@link ContainerScanStep}.
@@ -15,13 +39,34 @@ import java.util.List;
  *  - IMAGE_NAME env var
  *
  * Note: Unlike SAST, container scan targets an image, so we do not pass scanPath.
+ * For the same reason the coalescing target is the scanned image's id.
+ *
+ * With a {@code baselineImage} the comparison is post hoc: the new image is
+ * scanned in full as usual, and its findings are then split into new, fixed
+ * and unchanged relative to the baseline's cached findings. Each complete
+ * scan caches the scanned image's own findings, so the image a release
+ * build scanned is the baseline of the next one. On a cache miss the
+ * baseline is only scanned, first and without credentials, when
+ * {@code scanBaseline} is set: the scanner takes an image reference, not a
+ * set of layers, so that costs a second full scan in series.
  */
 public class ContainerScanExecution extends AccuKnoxBaseExecution {
 
     private static final long serialVersionUID = 1L;
 
+    /** New and fixed findings listed in the build log, each; the rest are counted. */
+    static final int MAX_LISTED = 20;
+
     private final ContainerScanStep containerStep;
 
+    /** Findings of the baseline image by {@link FindingsDelta#key}; {@code null} without a baseline. */
+    private transient Map<String, Finding> baseline;
+    private transient String baselineRef;
+
+    /** Where this scan's own findings are cached for later comparisons; {@code null} if not cached. */
+    private transient Job<?, ?> job;
+    private transient String ownKey;
+
     public ContainerScanExecution(ContainerScanStep step, StepContext context) {
         super(step, context);
         this.containerStep = step;
@@ -38,15 +83,18 @@ public class ContainerScanExecution extends AccuKnoxBaseExecution {
     ) {
         String rawImageName = containerStep.getImageName();
         String imageName = (envVars != null) ? envVars.expand(rawImageName) : rawImageName;
+        return scannerCommand(wsPath, token, label, endpoint, imageName, envVars);
+    }
 
+    private List<String> scannerCommand(String wsPath, String token, String label, String endpoint,
+                                        String imageName, EnvVars envVars) {
         List<String> cmd = new ArrayList<>();
         cmd.add("docker");
         cmd.add("run");
         cmd.add("--rm");
 
         // Mount workspace (optional but harmless; keeps consistency with base)
-        cmd.add("-v");
-        cmd.add(wsPath + ":/scan");
+        cmd.addAll(scanMountArgs(wsPath));
 
         // Mount docker socket so scanner can inspect/pull images
         cmd.add("-v");
@@ -55,18 +103,24 @@ public class ContainerScanExecution extends AccuKnoxBaseExecution {
         cmd.add("-w");
         cmd.add("/scan");
 
-        cmd.add("-e");
-        cmd.add("TOKEN=" + token);
+        if (token != null) {
+            cmd.add("-e");
+            cmd.add("TOKEN=" + token);
+        }
 
         cmd.add("-e");
         cmd.add("LABEL=" + label);
 
-        cmd.add("-e");
-        cmd.add("ENDPOINT=" + endpoint);
+        if (endpoint != null) {
+            cmd.add("-e");
+            cmd.add("ENDPOINT=" + endpoint);
+        }
 
         cmd.add("-e");
         cmd.add("IMAGE_NAME=" + imageName);
 
+        cmd.addAll(pluginDockerArgs());
+
         // hook for any future extra args
         cmd.addAll(extraDockerEnvArgs(envVars));
 
@@ -75,4 +129,255 @@ public class ContainerScanExecution extends AccuKnoxBaseExecution {
         // IMPORTANT: no scanPath argument for container scan
         return cmd;
     }
+
+    @Override
+    protected String coalesceTarget(Launcher launcher, FilePath workspace, String scanPath, EnvVars envVars)
+            throws InterruptedException {
+        String rawImageName = containerStep.getImageName();
+        String imageName = (envVars != null) ? envVars.expand(rawImageName) : rawImageName;
+        return DockerImages.id(launcher, workspace, imageName);
+    }
+
+    @Override
+    protected boolean scansWorkspace() {
+        return false;
+    }
+
+    // ── Baseline comparison ───────────────────────────────────────────────────
+
+    @Override
+    protected void beforeScan(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener,
+                              EnvVars envVars, String token, String label, String endpoint)
+            throws IOException, InterruptedException {
+        String ref = envVars.expand(containerStep.getBaselineImage());
+        if (ref == null || ref.trim().isEmpty()) {
+            return;
+        }
+        ref = ref.trim();
+        PrintStream log = listener.getLogger();
+
+        String baselineId = present(launcher, workspace, ref, log);
+        if (baselineId == null) {
+            log.println("[AccuKnox] ⚠  Baseline image " + ref + " is not available — scanning without comparison.");
+            return;
+        }
+        String image = envVars.expand(containerStep.getImageName());
+        String imageId = present(launcher, workspace, image, log);
+        if (imageId != null) {
+            logLayers(launcher, workspace, ref, baselineId, image, imageId, log);
+        }
+
+        String scannerId = DockerImages.id(launcher, workspace, step.getDockerImage());
+        String key = Util.getDigestOf(baselineId + "\n" + scannerId);
+        if (imageId != null) {
+            job = run.getParent();
+            ownKey = Util.getDigestOf(imageId + "\n" + scannerId);
+        }
+        List<Finding> findings = null;
+        try {
+            findings = BaselineFindings.load(run.getParent(), key);
+        } catch (IOException e) {
+            log.println("[AccuKnox] ⚠  Could not read cached baseline findings: " + e.getMessage());
+        }
+        if (findings != null) {
+            log.println("[AccuKnox] Baseline : " + findings.size() + " finding(s) in " + ref + " (cached)");
+        } else if (!containerStep.isScanBaseline()) {
+            log.println("[AccuKnox] Baseline : no cached findings for " + ref + " — scanning without comparison "
+                    + "(set scanBaseline: true to scan it first).");
+            return;
+        } else {
+            findings = scanBaseline(workspace, launcher, listener, envVars, ref, label);
+            if (findings == null) {
+                return;
+            }
+            try {
+                BaselineFindings.store(run.getParent(), key, findings);
+            } catch (IOException e) {
+                log.println("[AccuKnox] ⚠  Could not cache baseline findings: " + e.getMessage());
+            }
+        }
+
+        Map<String, Finding> byKey = new LinkedHashMap<>();
+        for (Finding f : findings) {
+            byKey.putIfAbsent(FindingsDelta.key(f), f);
+        }
+        baseline = byKey;
+        baselineRef = ref;
+    }
+
+    @Override
+    protected FindingsDelta compareFindings(ScanOutcome outcome, PrintStream log) {
+        Map<String, Finding> base = baseline;
+        // a scan that was stopped early has not ruled out anything it did not report
+        boolean complete = !outcome.isPartial() && !outcome.isStoppedEarly();
+        boolean cache = complete && ownKey != null;
+        if (base == null && !cache) {
+            return null;
+        }
+        File file = outcome.getFindings();
+        if (file == null) {
+            if (base != null) {
+                log.println("[AccuKnox] ⚠  This scan's findings were not stored — cannot compare with "
+                        + baselineRef + ".");
+            }
+            return null;
+        }
+        Set<String> seen = new HashSet<>();
+        List<Finding> own = new ArrayList<>();
+        List<Finding> added = new ArrayList<>();
+        long[] unchanged = {0};
+        try {
+            FindingsStore.read(file, (f, next) -> {
+                String k = FindingsDelta.key(f);
+                if (seen.add(k)) {
+                    own.add(f);
+                    if (base == null || base.containsKey(k)) {
+                        unchanged[0]++;
+                    } else {
+                        added.add(f);
+                    }
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            log.println("[AccuKnox] ⚠  Could not " + (base != null ? "compare with " + baselineRef : "cache findings")
+                    + ": " + e.getMessage());
+            return null;
+        }
+        if (cache) {
+            try {
+                BaselineFindings.store(job, ownKey, own);
+            } catch (IOException e) {
+                log.println("[AccuKnox] ⚠  Could not cache findings for later comparisons: " + e.getMessage());
+            }
+        }
+        if (base == null) {
+            return null;
+        }
+        List<Finding> fixed = new ArrayList<>();
+        base.forEach((k, f) -> {
+            if (!seen.contains(k)) fixed.add(f);
+        });
+
+        FindingsDelta delta = new FindingsDelta(baselineRef, added.size(),
+                complete ? fixed.size() : -1, unchanged[0]);
+        log.println("[AccuKnox] Delta    : " + delta);
+        list(log, "+", added);
+        if (complete) {
+            list(log, "-", fixed);
+        }
+        return delta;
+    }
+
+    /** Id of {@code image}, pulling it first if it is not on the agent; {@code null} if unavailable. */
+    private static String present(Launcher launcher, FilePath workspace, String image, PrintStream log)
+            throws IOException, InterruptedException {
+        if (image == null || image.trim().isEmpty()) {
+            return null;
+        }
+        String id = DockerImages.id(launcher, workspace, image);
+        if (id == null && DockerImages.pull(launcher, workspace, image.trim(), log)) {
+            id = DockerImages.id(launcher, workspace, image);
+        }
+        return id;
+    }
+
+    /** Logs how many of the new image's layers it shares with the baseline, counted from the base layer up. */
+    private static void logLayers(Launcher launcher, FilePath workspace, String ref, String baselineId,
+                                  String image, String imageId, PrintStream log) throws InterruptedException {
+        if (baselineId.equals(imageId)) {
+            log.println("[AccuKnox] Baseline : " + ref + " — same image as " + image);
+            return;
+        }
+        List<String> base = DockerImages.layers(launcher, workspace, ref);
+        List<String> layers = DockerImages.layers(launcher, workspace, image);
+        if (base.isEmpty() || layers.isEmpty()) {
+            return;
+        }
+        int shared = 0;
+        while (shared < base.size() && shared < layers.size() && base.get(shared).equals(layers.get(shared))) {
+            shared++;
+        }
+        log.println("[AccuKnox] Baseline : " + ref + " — " + shared + " of " + layers.size()
+                + " layers shared, " + (layers.size() - shared) + " new or changed");
+    }
+
+    /**
+     * Runs the scanner against the baseline without the AccuKnox token or
+     * endpoint and collects its findings; {@code null} if the scan failed or
+     * ran out of time. The baseline container is the one aborting the step
+     * removes while it runs.
+     */
+    private List<Finding> scanBaseline(FilePath workspace, Launcher launcher, TaskListener listener,
+                                       EnvVars envVars, String ref, String label)
+            throws IOException, InterruptedException {
+        // no credentials: the baseline's results must never reach AccuKnox, whatever the image does
+        List<String> cmd = scannerCommand(workspace.getRemote(), null, label, null, ref, envVars);
+        cmd.addAll(cmd.size() - 1, List.of("-e", "SKIP_UPLOAD=true"));
+        // its own container name, so a baseline that outlives its client cannot block the real scan
+        int name = cmd.indexOf("--name") + 1;
+        String containerName = name > 0 ? cmd.get(name) + "-baseline" : null;
+        if (containerName != null) {
+            cmd.set(name, containerName);
+        }
+        String main = containerName != null ? trackContainer(containerName) : null;
+        try {
+            return runBaseline(workspace, launcher, listener, ref, cmd, containerName);
+        } finally {
+            if (main != null) {
+                trackContainer(main);
+            }
+        }
+    }
+
+    private List<Finding> runBaseline(FilePath workspace, Launcher launcher, TaskListener listener, String ref,
+                                      List<String> cmd, String containerName)
+            throws IOException, InterruptedException {
+        PrintStream log = listener.getLogger();
+
+        long limit = remainingMillis();
+        if (limit == Long.MAX_VALUE && step.getTimeoutMinutes() > 0) {
+            limit = TimeUnit.MINUTES.toMillis(step.getTimeoutMinutes());
+        }
+        log.println("[AccuKnox] Baseline : scanning " + ref + " (results are not uploaded)");
+        List<Finding> findings = new ArrayList<>();
+        FindingsTap out = new FindingsTap(OutputStream.nullOutputStream(), step.getScanTypeName())
+                .addSink(findings::add)
+                .keepTail(5);
+        long started = System.currentTimeMillis();
+        int rc;
+        try {
+            Proc p = launcher.launch().cmds(cmd).pwd(workspace).stdout(out).quiet(true).start();
+            rc = limit == Long.MAX_VALUE ? p.join() : p.joinWithTimeout(limit, TimeUnit.MILLISECONDS, listener);
+        } finally {
+            out.close();
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        if (elapsed >= limit) {
+            log.println("[AccuKnox] ⚠  Baseline scan of " + ref
+                    + " ran out of time — scanning without comparison.");
+            if (containerName != null) {
+                ScanContainers.remove(launcher, containerName, listener);
+            }
+            return null;
+        }
+        if (rc != 0 && findings.isEmpty()) {
+            log.println("[AccuKnox] ⚠  Baseline scan of " + ref + " failed (exit " + rc + ") — scanning without "
+                    + "comparison. " + String.join(" | ", out.getTail()));
+            return null;
+        }
+        log.println("[AccuKnox] Baseline : " + findings.size() + " finding(s) in " + ref + " after "
+                + Util.getTimeSpanString(elapsed));
+        return findings;
+    }
+
+    private static void list(PrintStream log, String sign, List<Finding> findings) {
+        findings.sort(Comparator.comparing(Finding::getSeverity));
+        for (int i = 0; i < findings.size() && i < MAX_LISTED; i++) {
+            log.println("[AccuKnox]   " + sign + " " + findings.get(i));
+        }
+        if (findings.size() > MAX_LISTED) {
+            log.println("[AccuKnox]   " + sign + " … and " + (findings.size() - MAX_LISTED) + " more");
+        }
+    }
 }
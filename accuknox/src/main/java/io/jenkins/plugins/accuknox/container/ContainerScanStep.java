@@ -36,6 +36,28 @@ public class ContainerScanStep extends AccuKnoxBaseStep {
     /** Container image to analyse, e.g. nginx:1.25 or myrepo/app:latest */
     private String imageName = "";
 
+    /**
+     * Image to compare with, typically the one currently deployed, e.g.
+     * {@code myrepo/app:prod}. When set, the step reports which findings
+     * are new, fixed or unchanged relative to it, and how many layers the
+     * two images share. This is a comparison after the fact: {@code imageName}
+     * is still scanned in full and compared with the baseline's findings as
+     * cached for this job (up to 24 hours), e.g. by the build that scanned
+     * it as {@code imageName}. "Fixed" is left unknown when the scan was
+     * stopped early.
+     * Default: empty (no comparison).
+     */
+    private String baselineImage = "";
+
+    /**
+     * Scan {@code baselineImage} first when its findings are not cached,
+     * without the AccuKnox token or endpoint. The two scans run one after
+     * the other under the step's time limit. When false a cache miss only
+     * skips the comparison.
+     * Default: false.
+     */
+    private boolean scanBaseline;
+
     @DataBoundConstructor
     public ContainerScanStep(String token, String label, String endpoint) {
         super(token, label, endpoint);
@@ -60,6 +82,24 @@ public class ContainerScanStep extends AccuKnoxBaseStep {
         this.imageName = imageName;
     }
 
+    public String getBaselineImage() {
+        return baselineImage;
+    }
+
+    @DataBoundSetter
+    public void setBaselineImage(String baselineImage) {
+        this.baselineImage = baselineImage;
+    }
+
+    public boolean isScanBaseline() {
+        return scanBaseline;
+    }
+
+    @DataBoundSetter
+    public void setScanBaseline(boolean scanBaseline) {
+        this.scanBaseline = scanBaseline;
+    }
+
     @Override
     public StepExecution start(StepContext context) {
         return new ContainerScanExecution(this, context);
@@ -1,6 +1,8 @@
 package io.jenkins.plugins.accuknox.dast;
 
 import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Launcher;
 import io.jenkins.plugins.accuknox.shared.AccuKnoxBaseExecution;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 
@@ -11,6 +13,8 @@ import java.util.List;
  *
  * Injects TARGET_URL as an additional Docker environment variable
  * so the DAST scanner knows which live endpoint to probe.
+ *
+ * DAST results depend on a live target, so DAST scans are never coalesced.
  */
 public class DastScanExecution extends AccuKnoxBaseExecution {
 
@@ -32,4 +36,14 @@ public class DastScanExecution extends AccuKnoxBaseExecution {
                 "-e", "TARGET_URL=" + resolved
         );
     }
+
+    @Override
+    protected String coalesceTarget(Launcher launcher, FilePath workspace, String scanPath, EnvVars envVars) {
+        return null;
+    }
+
+    @Override
+    protected boolean scansWorkspace() {
+        return false;
+    }
 }
@@ -0,0 +1,87 @@
+package io.jenkins.plugins.accuknox.docker;
+
+import hudson.Extension;
+import hudson.Launcher;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Computer;
+import hudson.model.Job;
+import hudson.model.Node;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import jenkins.model.Jenkins;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically removes scanner containers whose build is gone or finished.
+ *
+ * A container normally disappears through {@code docker run --rm} or the
+ * step's {@code stop()}; this catches what those miss (controller restarts,
+ * agent disconnects mid-abort). Every online node is visited, since
+ * containers outlive a controller restart and any record of where they
+ * were started: its default daemon, plus the daemons scans on it selected
+ * through {@code DOCKER_HOST} and friends since the controller started
+ * (see {@link ScanContainers#daemonUsed}). Only containers carrying this
+ * controller's label are considered. On nodes without docker the listing
+ * simply fails.
+ */
+@Extension
+public class ContainerReaper extends AsyncPeriodicWork {
+
+    private static final String FORMAT =
+            "{{.ID}}\t{{.Label \"" + ScanContainers.LABEL_JOB + "\"}}\t{{.Label \"" + ScanContainers.LABEL_BUILD + "\"}}";
+
+    public ContainerReaper() {
+        super("AccuKnox scanner container reaper");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.MINUTES.toMillis(10);
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws IOException, InterruptedException {
+        Jenkins j = Jenkins.get();
+        for (Computer c : j.getComputers()) {
+            Node node = c.isOnline() ? c.getNode() : null;
+            if (node == null) {
+                continue;
+            }
+            String nodeName = c.getName();
+            Launcher launcher = node.createLauncher(listener);
+            reap(j, launcher, nodeName, listener);
+            for (Map<String, String> daemon : ScanContainers.daemons(nodeName)) {
+                reap(j, ScanContainers.withClientEnv(launcher, daemon), nodeName, listener);
+            }
+        }
+    }
+
+    private static void reap(Jenkins j, Launcher launcher, String nodeName, TaskListener listener)
+            throws IOException, InterruptedException {
+        for (String line : ScanContainers.listOwned(launcher, listener, FORMAT)) {
+            String[] f = line.split("\t", -1);
+            if (f.length < 3 || isLive(j, f[1], f[2])) {
+                continue;
+            }
+            listener.getLogger().println("Removing orphaned AccuKnox container " + f[0]
+                    + " (" + f[1] + " #" + f[2] + ") on " + (nodeName.isEmpty() ? "built-in node" : nodeName));
+            ScanContainers.remove(launcher, f[0], listener);
+        }
+    }
+
+    private static boolean isLive(Jenkins j, String jobName, String buildNumber) {
+        Job<?, ?> job = j.getItemByFullName(jobName, Job.class);
+        if (job == null) {
+            return false;
+        }
+        try {
+            Run<?, ?> run = job.getBuildByNumber(Integer.parseInt(buildNumber));
+            return run != null && run.isBuilding();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
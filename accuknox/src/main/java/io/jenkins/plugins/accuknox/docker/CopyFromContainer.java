@@ -0,0 +1,51 @@
+package io.jenkins.plugins.accuknox.docker;
+
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * {@code docker cp <container>:<path> -}, unpacked into the target directory
+ * on the agent as it streams. The counterpart of bind-mounting a result
+ * directory when the daemon is remote. Runs on the agent; returns the
+ * docker CLI exit code.
+ */
+public class CopyFromContainer extends MasterToSlaveFileCallable<Integer> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String container;
+    private final String path;
+    private final Map<String, String> dockerEnv;
+
+    public CopyFromContainer(String container, String path, Map<String, String> dockerEnv) {
+        this.container = container;
+        this.path      = path;
+        this.dockerEnv = Map.copyOf(dockerEnv);
+    }
+
+    @Override
+    public Integer invoke(File target, VirtualChannel channel) throws IOException, InterruptedException {
+        ProcessBuilder pb = new ProcessBuilder("docker", "cp", container + ":" + path, "-")
+                .redirectError(ProcessBuilder.Redirect.DISCARD);
+        pb.environment().putAll(dockerEnv);
+        Process docker = pb.start();
+        docker.getOutputStream().close();
+        try (InputStream in = docker.getInputStream()) {
+            new FilePath(target).untarFrom(in, FilePath.TarCompression.NONE);
+        } catch (IOException e) {
+            // a missing path gives an empty stream and a non-zero exit; report that instead
+            int rc = docker.waitFor();
+            if (rc != 0) {
+                return rc;
+            }
+            throw e;
+        }
+        return docker.waitFor();
+    }
+}
@@ -0,0 +1,86 @@
+package io.jenkins.plugins.accuknox.docker;
+
+import hudson.FilePath;
+import hudson.Launcher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Read-only queries about images on an agent's docker daemon. */
+public final class DockerImages {
+
+    private DockerImages() {
+        // utility class
+    }
+
+    /**
+     * Content-addressed image id ({@code sha256:...}) of a locally present
+     * image, or {@code null} if the image is not present or docker fails.
+     */
+    public static String id(Launcher launcher, FilePath pwd, String image) throws InterruptedException {
+        return inspect(launcher, pwd, image, "{{.Id}}");
+    }
+
+    /**
+     * Layer digests of a locally present image, base layer first; empty if
+     * the image is not present or docker fails.
+     */
+    public static List<String> layers(Launcher launcher, FilePath pwd, String image) throws InterruptedException {
+        List<String> out = new ArrayList<>();
+        String v = inspect(launcher, pwd, image, "{{range .RootFS.Layers}}{{.}} {{end}}");
+        if (v != null) {
+            for (String layer : v.split("\\s+")) {
+                if (!layer.isEmpty()) out.add(layer);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * {@code docker pull --quiet image}; failures are logged to {@code log}.
+     * Returns whether the image is present afterwards.
+     */
+    public static boolean pull(Launcher launcher, FilePath pwd, String image, PrintStream log)
+            throws IOException, InterruptedException {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int rc = launcher.launch()
+                .cmds("docker", "pull", "--quiet", image)
+                .pwd(pwd)
+                .stdout(new ByteArrayOutputStream())
+                .stderr(err)
+                .quiet(true)
+                .join();
+        if (rc != 0) {
+            log.println("[AccuKnox] ⚠  docker pull " + image + " failed (exit " + rc + "): "
+                    + err.toString(StandardCharsets.UTF_8).trim());
+            return false;
+        }
+        return id(launcher, pwd, image) != null;
+    }
+
+    /** {@code docker image inspect --format <format>}; {@code null} on any failure. */
+    public static String inspect(Launcher launcher, FilePath pwd, String image, String format)
+            throws InterruptedException {
+        if (image == null || image.trim().isEmpty()) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            int rc = launcher.launch()
+                    .cmds("docker", "image", "inspect", "--format", format, image.trim())
+                    .pwd(pwd)
+                    .stdout(out)
+                    .stderr(new ByteArrayOutputStream())
+                    .quiet(true)
+                    .join();
+            String v = out.toString(StandardCharsets.UTF_8).trim();
+            return (rc == 0 && !v.isEmpty()) ? v : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package io.jenkins.plugins.accuknox.docker;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.model.Jenkins;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Provisions scanner images from {@code docker save} archives, for agents
+ * without registry access.
+ *
+ * Archives are published under a name derived from the image reference,
+ * e.g. {@code public.ecr.aws/k9v9d5v2/accuknox-aspm-scanner:v0.13.4} →
+ * {@code public.ecr.aws_k9v9d5v2_accuknox-aspm-scanner_v0.13.4.tar} (or
+ * {@code .tar.gz}), next to a {@code .sha256} file holding its SHA-256.
+ * They are looked up, in order, in
+ * <ol>
+ *   <li>the agent cache ({@code ACCUKNOX_IMAGE_CACHE}, default
+ *       {@code <agent root>/accuknox/images}),</li>
+ *   <li>a shared directory visible to the agent ({@code ACCUKNOX_IMAGE_ARCHIVES}),</li>
+ *   <li>the controller store, {@code $JENKINS_HOME/accuknox/images}.</li>
+ * </ol>
+ * Archives found in 2 or 3 are copied into the agent cache under their
+ * digest ({@code <sha256>.tar}), with a {@code <name>.digest} file pointing
+ * the image reference at it; later loads use that copy. Loads of one
+ * digest are serialised per agent, whichever reference names it.
+ *
+ * Every archive is hashed before {@code docker load}, and a mismatch or a
+ * missing checksum aborts the step rather than loading an unverified
+ * image. The image id the archive's {@code manifest.json} declares is read
+ * in the same pass; after the load, the id docker reports for the
+ * reference must be that one, so an archive that does not retag the
+ * reference (or retags it to a different image) is caught. Nothing happens
+ * when the image is already present.
+ */
+public final class ImageCache {
+
+    public static final String ENV_CACHE    = "ACCUKNOX_IMAGE_CACHE";
+    public static final String ENV_ARCHIVES = "ACCUKNOX_IMAGE_ARCHIVES";
+
+    private static final List<String> EXTENSIONS = List.of(".tar", ".tar.gz");
+    private static final String CHECKSUM = ".sha256";
+    private static final String POINTER = ".digest";
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    /** node name + archive digest -> lock; serialises seeding and loading of an archive on one agent */
+    private static final ConcurrentMap<String, Object> LOADS = new ConcurrentHashMap<>();
+
+    private ImageCache() {
+        // utility class
+    }
+
+    /** Archive base name for an image reference. */
+    static String archiveName(String image) {
+        return image.trim().toLowerCase(Locale.ROOT).replaceAll("[/:@]", "_");
+    }
+
+    /** An archive and the SHA-256 it must have. */
+    private static final class Archive {
+        final FilePath file;
+        final String digest;
+        /** Already in the agent cache; loaded in place. */
+        final boolean local;
+
+        Archive(FilePath file, String digest, boolean local) {
+            this.file   = file;
+            this.digest = digest;
+            this.local  = local;
+        }
+    }
+
+    /**
+     * Makes sure {@code image} is present on the agent's daemon, loading it
+     * from an archive if one is available. Returns {@code false} if the image
+     * is missing and no archive exists, leaving the registry pull to docker.
+     */
+    public static boolean ensure(Launcher launcher, FilePath workspace, FilePath defaultCache, String nodeName,
+                                 String image, String cacheDir, String sharedDir, TaskListener listener)
+            throws IOException, InterruptedException {
+        if (DockerImages.id(launcher, workspace, image) != null) {
+            return true;
+        }
+        FilePath cache = (cacheDir == null || cacheDir.isEmpty()) ? defaultCache : new FilePath(workspace, cacheDir);
+        FilePath shared = (sharedDir == null || sharedDir.isEmpty()) ? null : new FilePath(workspace, sharedDir);
+        Archive archive = locate(cache, shared, image);
+        if (archive == null) {
+            return false;
+        }
+        synchronized (LOADS.computeIfAbsent(nodeName + "|" + archive.digest, k -> new Object())) {
+            if (DockerImages.id(launcher, workspace, image) != null) {
+                return true; // another step loaded it meanwhile
+            }
+            return load(launcher, workspace, cache, image, archive, listener.getLogger());
+        }
+    }
+
+    /** The archive to load {@code image} from and its expected digest, or {@code null} if there is none. */
+    private static Archive locate(FilePath cache, FilePath shared, String image)
+            throws IOException, InterruptedException {
+        FilePath pointer = cache.child(archiveName(image) + POINTER);
+        if (pointer.exists()) {
+            String digest = digest(pointer);
+            for (String ext : EXTENSIONS) {
+                FilePath f = cache.child(digest + ext);
+                if (f.exists()) {
+                    return new Archive(f, digest, true);
+                }
+            }
+        }
+        FilePath controller = new FilePath(new File(Jenkins.get().getRootDir(), "accuknox/images"));
+        for (FilePath dir : Arrays.asList(cache, shared, controller)) {
+            FilePath f = find(dir, image);
+            if (f == null) {
+                continue;
+            }
+            FilePath checksum = f.sibling(f.getName() + CHECKSUM);
+            if (!checksum.exists()) {
+                throw new AbortException("[AccuKnox] " + f.getRemote() + " has no " + CHECKSUM
+                        + " file — refusing to load an unverified image.");
+            }
+            return new Archive(f, digest(checksum), dir == cache);
+        }
+        return null;
+    }
+
+    private static boolean load(Launcher launcher, FilePath workspace, FilePath cache, String image,
+                                Archive archive, PrintStream log)
+            throws IOException, InterruptedException {
+        FilePath file = archive.local ? archive.file : seed(cache, archive, log);
+        Inspection found = file.act(new Inspect(image));
+        if (!found.sha256.equals(archive.digest)) {
+            if (!archive.local) {
+                file.delete(); // re-seeded next time rather than trusted
+            }
+            throw new AbortException("[AccuKnox] Checksum mismatch for " + file.getRemote()
+                    + " (expected " + archive.digest + ", got " + found.sha256 + ")");
+        }
+        if (!archive.local) {
+            cache.child(archiveName(image) + POINTER).write(archive.digest + "\n", "UTF-8");
+        }
+
+        log.println("[AccuKnox] Loading  : " + image + " from " + file.getRemote() + " (sha256 " + found.sha256 + ")");
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int rc = launcher.launch()
+                .cmds("docker", "load", "-i", file.getRemote())
+                .pwd(workspace)
+                .stdout(new ByteArrayOutputStream())
+                .stderr(err)
+                .quiet(true)
+                .join();
+        if (rc != 0) {
+            throw new AbortException("[AccuKnox] docker load of " + file.getRemote() + " failed (exit "
+                    + rc + "): " + err.toString(StandardCharsets.UTF_8).trim());
+        }
+        String id = DockerImages.id(launcher, workspace, image);
+        if (id == null) {
+            throw new AbortException("[AccuKnox] " + file.getRemote() + " does not contain " + image + ".");
+        }
+        if (found.imageId == null) {
+            log.println("[AccuKnox] ⚠  " + file.getName() + " does not say which image is " + image
+                    + "; loaded " + id + " unchecked.");
+        } else if (!found.imageId.equals(id)) {
+            throw new AbortException("[AccuKnox] " + image + " is " + id + " after loading " + file.getRemote()
+                    + ", which holds " + found.imageId + ".");
+        }
+        return true;
+    }
+
+    private static FilePath find(FilePath dir, String image) throws IOException, InterruptedException {
+        if (dir == null || !dir.isDirectory()) {
+            return null;
+        }
+        for (String ext : EXTENSIONS) {
+            FilePath f = dir.child(archiveName(image) + ext);
+            if (f.exists()) {
+                return f;
+            }
+        }
+        return null;
+    }
+
+    /** Copies a shared or controller archive into {@code cache} under its digest. */
+    private static FilePath seed(FilePath cache, Archive archive, PrintStream log)
+            throws IOException, InterruptedException {
+        String name = archive.file.getName();
+        FilePath target = cache.child(archive.digest + name.substring(name.indexOf(".tar")));
+        log.println("[AccuKnox] Seeding  : " + name + " into " + cache.getRemote());
+        cache.mkdirs();
+        // copy to a temporary name first so a half-copied archive is never picked up by locate()
+        FilePath partial = cache.child(target.getName() + ".partial");
+        archive.file.copyTo(partial);
+        partial.renameTo(target);
+        return target;
+    }
+
+    /** The SHA-256 in a checksum or pointer file. */
+    private static String digest(FilePath f) throws IOException, InterruptedException {
+        String d = firstToken(f.readToString()).toLowerCase(Locale.ROOT);
+        if (!SHA256.matcher(d).matches()) {
+            throw new AbortException("[AccuKnox] " + f.getRemote() + " does not hold a SHA-256 checksum.");
+        }
+        return d;
+    }
+
+    /** Accepts both a bare digest and {@code sha256sum} output ("digest  file"). */
+    private static String firstToken(String s) {
+        return s.trim().split("\\s+", 2)[0];
+    }
+
+    /** What {@link Inspect} found in an archive. */
+    static final class Inspection implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String sha256;
+        /** Image id declared for the reference, or {@code null} if the manifest does not tell. */
+        final String imageId;
+
+        Inspection(String sha256, String imageId) {
+            this.sha256  = sha256;
+            this.imageId = imageId;
+        }
+    }
+
+    /**
+     * Hashes an archive and, in the same pass, reads the image id its
+     * {@code manifest.json} declares for the reference. Runs where the
+     * archive lives.
+     */
+    static final class Inspect extends MasterToSlaveFileCallable<Inspection> {
+
+        private static final long serialVersionUID = 1L;
+        private static final int BLOCK = 512;
+        private static final int MAX_MANIFEST = 1024 * 1024;
+
+        private final String image;
+
+        Inspect(String image) {
+            this.image = image;
+        }
+
+        @Override
+        public Inspection invoke(File f, VirtualChannel channel) throws IOException {
+            MessageDigest md;
+            try {
+                md = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            String manifest = null;
+            try (DigestInputStream file = new DigestInputStream(
+                    new BufferedInputStream(Files.newInputStream(f.toPath()), 1024 * 1024), md)) {
+                InputStream tar = f.getName().endsWith(".gz") ? new GZIPInputStream(file, 64 * 1024) : file;
+                try {
+                    manifest = manifest(tar);
+                } catch (IOException | NumberFormatException e) {
+                    manifest = null; // not a tar we understand; the checksum still decides
+                }
+                // the whole file is hashed, whatever the tar reader consumed
+                byte[] buf = new byte[64 * 1024];
+                while (file.read(buf) >= 0) {
+                    // digesting
+                }
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : md.digest()) sb.append(String.format("%02x", b));
+            return new Inspection(sb.toString(), manifest == null ? null : imageId(manifest, image));
+        }
+
+        /** Contents of {@code manifest.json}, or {@code null} if the archive has none. */
+        private static String manifest(InputStream tar) throws IOException {
+            byte[] header = new byte[BLOCK];
+            while (tar.readNBytes(header, 0, BLOCK) == BLOCK && header[0] != 0) {
+                String name = field(header, 0, 100);
+                String octal = field(header, 124, 12).trim();
+                long size = octal.isEmpty() ? 0 : Long.parseLong(octal, 8);
+                if (("manifest.json".equals(name) || "./manifest.json".equals(name)) && size <= MAX_MANIFEST) {
+                    return new String(tar.readNBytes((int) size), StandardCharsets.UTF_8);
+                }
+                skip(tar, (size + BLOCK - 1) / BLOCK * BLOCK);
+            }
+            return null;
+        }
+
+        /** Reads past {@code n} bytes; {@code skip()} would bypass the digest. */
+        private static void skip(InputStream in, long n) throws IOException {
+            byte[] buf = new byte[64 * 1024];
+            while (n > 0) {
+                int k = in.read(buf, 0, (int) Math.min(buf.length, n));
+                if (k < 0) {
+                    throw new IOException("truncated archive");
+                }
+                n -= k;
+            }
+        }
+
+        private static String field(byte[] header, int offset, int length) {
+            int end = offset;
+            while (end < offset + length && header[end] != 0) end++;
+            return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Image id ({@code sha256:...}) that a {@code docker save} manifest gives
+     * {@code image}: the entry tagged with it, else the only entry. Config
+     * names are {@code <hex>.json} (classic layout) or
+     * {@code blobs/sha256/<hex>} (OCI layout).
+     */
+    static String imageId(String manifest, String image) {
+        JSONArray entries;
+        try {
+            entries = JSONArray.fromObject(manifest);
+        } catch (JSONException e) {
+            return null;
+        }
+        String only = null;
+        for (int i = 0; i < entries.size(); i++) {
+            JSONObject entry;
+            try {
+                entry = entries.getJSONObject(i);
+            } catch (JSONException e) {
+                return null;
+            }
+            Matcher m = SHA256.matcher(entry.optString("Config", ""));
+            String id = m.find() ? "sha256:" + m.group() : null;
+            JSONArray tags = entry.optJSONArray("RepoTags");
+            if (tags != null && tags.contains(image.trim())) {
+                return id;
+            }
+            only = entries.size() == 1 ? id : null;
+        }
+        return only;
+    }
+}
@@ -0,0 +1,156 @@
+package io.jenkins.plugins.accuknox.docker;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.util.LogTaskListener;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background provisioning of scanner images on an agent, started early in a
+ * pipeline so that scan steps find their image ready.
+ *
+ * A prefetch first goes through {@link ImageCache#ensure} (present, or
+ * loaded from a verified archive) and falls back to {@code docker pull}.
+ * At most one prefetch per agent and image is in flight; it is forgotten
+ * once done, so a scan step only ever waits on one that is still running
+ * and otherwise provisions its image as usual.
+ *
+ * A prefetch outlives the step that started it, so it does not touch that
+ * step's log or launcher: progress goes to the system log, and docker runs
+ * through a launcher of its own on the node. It is cancelled when the
+ * build that started it completes.
+ */
+public final class ImagePrefetch {
+
+    private static final Logger LOGGER = Logger.getLogger(ImagePrefetch.class.getName());
+
+    /** node name + image -> running prefetch */
+    private static final ConcurrentMap<String, CompletableFuture<Boolean>> RUNNING = new ConcurrentHashMap<>();
+
+    /** build id -> prefetches it started that are still running */
+    private static final ConcurrentMap<String, Set<Task>> BY_RUN = new ConcurrentHashMap<>();
+
+    private ImagePrefetch() {
+        // utility class
+    }
+
+    /**
+     * Starts prefetching {@code image} on {@code node} for {@code run},
+     * unless that is already under way, with docker pointed at the daemon
+     * {@code env} selects (see {@link ScanContainers#clientEnv}). The future
+     * completes with whether the image is present afterwards.
+     */
+    public static CompletableFuture<Boolean> start(Run<?, ?> run, Node node, FilePath workspace,
+                                                   FilePath defaultCache, String nodeName, String image,
+                                                   String cacheDir, String sharedDir, Map<String, String> env) {
+        String key = nodeName + "|" + image;
+        CompletableFuture<Boolean> mine = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = RUNNING.putIfAbsent(key, mine);
+        if (running != null) {
+            return running;
+        }
+        mine.whenComplete((ok, e) -> RUNNING.remove(key, mine));
+        TaskListener listener = new LogTaskListener(LOGGER, Level.INFO);
+        Future<?> work = Computer.threadPoolForRemoting.submit(() -> {
+            PrintStream log = listener.getLogger();
+            long start = System.currentTimeMillis();
+            try {
+                Launcher launcher = ScanContainers.withClientEnv(node.createLauncher(listener), env);
+                boolean ok = ImageCache.ensure(launcher, workspace, defaultCache, nodeName, image,
+                        cacheDir, sharedDir, listener) || DockerImages.pull(launcher, workspace, image, log);
+                log.println("[AccuKnox] Prefetch : " + image + (ok ? " ready" : " not available") + " on "
+                        + nodeName + " after " + Util.getTimeSpanString(System.currentTimeMillis() - start));
+                mine.complete(ok);
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                log.println("[AccuKnox] ⚠  Prefetch of " + image + " on " + nodeName + " failed: " + e.getMessage());
+                mine.completeExceptionally(e);
+            }
+        });
+        String id = run.getExternalizableId();
+        Task task = new Task(mine, work);
+        BY_RUN.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(task);
+        mine.whenComplete((ok, e) -> BY_RUN.computeIfPresent(id, (k, tasks) -> {
+            tasks.remove(task);
+            return tasks.isEmpty() ? null : tasks;
+        }));
+        return mine;
+    }
+
+    /** Cancels the prefetches {@code run} started that are still running. */
+    static void cancel(Run<?, ?> run) {
+        Set<Task> tasks = BY_RUN.remove(run.getExternalizableId());
+        if (tasks != null) {
+            tasks.forEach(Task::cancel);
+        }
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for a prefetch of {@code image} on
+     * {@code nodeName} that is still running. Returns at once if there is
+     * none. A failed or slow prefetch is only logged; the caller then
+     * provisions the image itself.
+     */
+    public static void await(String nodeName, String image, long timeoutMillis, PrintStream log)
+            throws InterruptedException {
+        CompletableFuture<Boolean> f = RUNNING.get(nodeName + "|" + image);
+        if (f == null || f.isDone()) {
+            return;
+        }
+        log.println("[AccuKnox] Waiting  : for the prefetch of " + image + " started by accuknoxPrepare");
+        long start = System.currentTimeMillis();
+        try {
+            f.get(Math.max(0, timeoutMillis), TimeUnit.MILLISECONDS);
+            log.println("[AccuKnox] Prefetch : waited " + Util.getTimeSpanString(System.currentTimeMillis() - start));
+        } catch (ExecutionException | CancellationException e) {
+            // already logged by the prefetch, or its build is over
+        } catch (TimeoutException e) {
+            log.println("[AccuKnox] ⚠  Prefetch of " + image + " still running after "
+                    + Util.getTimeSpanString(timeoutMillis) + " — continuing without it.");
+        }
+    }
+
+    private static final class Task {
+        private final CompletableFuture<Boolean> result;
+        private final Future<?> work;
+
+        Task(CompletableFuture<Boolean> result, Future<?> work) {
+            this.result = result;
+            this.work = work;
+        }
+
+        void cancel() {
+            work.cancel(true);
+            result.cancel(false); // also when the work never started
+        }
+    }
+
+    /** Cancels a build's prefetches once it completes, whether or not a scan step used them. */
+    @Extension
+    public static final class Canceller extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(Run<?, ?> run, TaskListener listener) {
+            cancel(run);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package io.jenkins.plugins.accuknox.docker;
+
+import hudson.EnvVars;
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import jenkins.model.Jenkins;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Naming, labelling and stopping of scanner containers.
+ *
+ * Every scanner container gets a name derived from its job, build, scan type
+ * and the execution's scan id, plus labels carrying the same data. That lets
+ * {@code StepExecution.stop()} remove the exact container of an aborted
+ * step, and lets {@link ContainerReaper} find containers whose build no
+ * longer exists, on each node's default daemon and on the daemons scans
+ * have selected through their environment.
+ */
+public final class ScanContainers {
+
+    public static final String LABEL_PREFIX     = "io.jenkins.accuknox.";
+    public static final String LABEL_CONTROLLER = LABEL_PREFIX + "controller";
+    public static final String LABEL_JOB        = LABEL_PREFIX + "job";
+    public static final String LABEL_BUILD      = LABEL_PREFIX + "build";
+    public static final String LABEL_STEP       = LABEL_PREFIX + "step";
+
+    /** Environment variables that select and configure the docker daemon the CLI talks to. */
+    static final List<String> CLIENT_ENV = List.of(
+            "DOCKER_HOST", "DOCKER_CONTEXT", "DOCKER_TLS_VERIFY", "DOCKER_CERT_PATH", "DOCKER_CONFIG");
+
+    /** node name -> client environments of non-default daemons scans on that node have used */
+    private static final ConcurrentMap<String, Set<Map<String, String>>> DAEMONS = new ConcurrentHashMap<>();
+
+    private ScanContainers() {
+        // utility class
+    }
+
+    /** e.g. {@code accuknox-team-app-main-42-sast-scan-1a2b3c4d} */
+    public static String name(Run<?, ?> run, String scanType, String scanId) {
+        String job = run.getParent().getFullName().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_.-]+", "-");
+        if (job.length() > 40) {
+            job = job.substring(job.length() - 40);
+        }
+        job = job.replaceAll("^[^a-z0-9]+", "");
+        return "accuknox-" + job + "-" + run.getNumber() + "-" + scanType.toLowerCase(Locale.ROOT) + "-" + scanId;
+    }
+
+    /** {@code docker run} arguments naming and labelling the scanner container. */
+    public static List<String> runArgs(Run<?, ?> run, String scanType, String scanId) {
+        return List.of(
+                "--name", name(run, scanType, scanId),
+                "--label", LABEL_CONTROLLER + "=" + controllerId(),
+                "--label", LABEL_JOB + "=" + run.getParent().getFullName(),
+                "--label", LABEL_BUILD + "=" + run.getNumber(),
+                "--label", LABEL_STEP + "=" + scanType + "/" + scanId
+        );
+    }
+
+    /** Identifies this controller so reapers of controllers sharing a docker host never collide. */
+    public static String controllerId() {
+        return Jenkins.get().getLegacyInstanceId();
+    }
+
+    /** The {@link #CLIENT_ENV} subset of {@code env}, for docker CLIs started outside the step launcher. */
+    public static Map<String, String> clientEnv(Map<String, String> env) {
+        Map<String, String> out = new HashMap<>();
+        for (String k : CLIENT_ENV) {
+            String v = env.get(k);
+            if (v != null && !v.isEmpty()) out.put(k, v);
+        }
+        return out;
+    }
+
+    /**
+     * {@code launcher} with the step's {@link #CLIENT_ENV} applied to every
+     * process it starts, so that each docker command of a step talks to the
+     * daemon its environment selects (e.g. {@code DOCKER_HOST} from
+     * {@code withEnv}) rather than the agent's default one.
+     */
+    public static Launcher withClientEnv(Launcher launcher, Map<String, String> env) {
+        Map<String, String> client = clientEnv(env);
+        return client.isEmpty() ? launcher : launcher.decorateByEnv(new EnvVars(client));
+    }
+
+    /**
+     * Remembers the daemon a scan on {@code nodeName} starts its container on,
+     * so that {@link ContainerReaper} visits it too. Kept in memory only:
+     * after a controller restart a non-default daemon is reaped again once a
+     * scan has used it.
+     */
+    public static void daemonUsed(String nodeName, Map<String, String> env) {
+        Map<String, String> client = clientEnv(env);
+        if (!client.isEmpty()) {
+            DAEMONS.computeIfAbsent(nodeName, k -> ConcurrentHashMap.newKeySet()).add(client);
+        }
+    }
+
+    /** Client environments of the non-default daemons used on {@code nodeName}. */
+    static Set<Map<String, String>> daemons(String nodeName) {
+        return DAEMONS.getOrDefault(nodeName, Set.of());
+    }
+
+    /**
+     * Whether the daemon cannot see the agent's filesystem, so bind mounts of
+     * the workspace would be empty: {@code DOCKER_HOST} is set to anything
+     * but a local socket (tcp://, ssh://, a dind sidecar, ...).
+     */
+    public static boolean isRemoteDaemon(Map<String, String> env) {
+        String host = env.get("DOCKER_HOST");
+        return host != null && !host.isEmpty()
+                && !host.startsWith("unix://") && !host.startsWith("npipe://");
+    }
+
+    /**
+     * {@code docker stop} with a grace period, so the scanner gets SIGTERM and
+     * a chance to flush before SIGKILL. Returns the docker CLI exit code.
+     */
+    public static int stop(Launcher launcher, String name, int graceSeconds, TaskListener listener)
+            throws IOException, InterruptedException {
+        return docker(launcher, listener, "stop", "-t", String.valueOf(graceSeconds), name);
+    }
+
+    /** {@code docker rm -f}: kills and removes the container; a missing container is not an error. */
+    public static int remove(Launcher launcher, String nameOrId, TaskListener listener)
+            throws IOException, InterruptedException {
+        return docker(launcher, listener, "rm", "-f", nameOrId);
+    }
+
+    /** Replaces the raw token value in a command line or docker message with *** before it is logged. */
+    public static String redact(String s, String token) {
+        if (token == null || token.isEmpty()) return s;
+        return s.replace(token, "***");
+    }
+
+    /** Lines of {@code docker ps} output for containers labelled by this controller. */
+    static List<String> listOwned(Launcher launcher, TaskListener listener, String format)
+            throws IOException, InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int rc = launcher.launch()
+                .cmds("docker", "ps", "-a", "--no-trunc",
+                        "--filter", "label=" + LABEL_CONTROLLER + "=" + controllerId(),
+                        "--format", format)
+                .stdout(out)
+                .stderr(listener.getLogger())
+                .quiet(true)
+                .join();
+        if (rc != 0) {
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>();
+        for (String l : out.toString(StandardCharsets.UTF_8).split("\\R")) {
+            if (!l.trim().isEmpty()) lines.add(l.trim());
+        }
+        return lines;
+    }
+
+    /** Runs a docker CLI command quietly; stderr is only copied to the log on failure. */
+    private static int docker(Launcher launcher, TaskListener listener, String... args)
+            throws IOException, InterruptedException {
+        List<String> cmd = new ArrayList<>();
+        cmd.add("docker");
+        cmd.addAll(List.of(args));
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int rc = launcher.launch()
+                .cmds(cmd)
+                .stdout(new ByteArrayOutputStream())
+                .stderr(err)
+                .quiet(true)
+                .join();
+        String msg = err.toString(StandardCharsets.UTF_8).trim();
+        if (rc != 0 && !msg.isEmpty() && !msg.contains("No such container")) {
+            listener.getLogger().println("[AccuKnox] docker " + args[0] + ": " + msg);
+        }
+        return rc;
+    }
+}
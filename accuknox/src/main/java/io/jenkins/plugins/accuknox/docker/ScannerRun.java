@@ -0,0 +1,133 @@
+package io.jenkins.plugins.accuknox.docker;
+
+import hudson.console.LineTransformationOutputStream;
+import hudson.remoting.RemoteOutputStream;
+import hudson.remoting.VirtualChannel;
+import io.jenkins.plugins.accuknox.findings.FindingsParser;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs the scanner's docker command on the agent and keeps its output there.
+ *
+ * Invoked on the workspace (the working directory). Everything the scanner
+ * prints, stdout and stderr merged, is gzip-compressed into {@code logFile}
+ * as it arrives. Only lines {@link FindingsParser} recognises are forwarded
+ * to {@code findings} while the scanner runs; once it exits, the last
+ * {@code tailLines} lines go to {@code summary}. So the controller receives
+ * a few lines per finding instead of the full output.
+ *
+ * Returns the docker CLI exit code. Meant for {@code FilePath.actAsync}:
+ * cancelling the call interrupts it, which kills the docker client (the
+ * container itself is stopped by name by the caller).
+ */
+public class ScannerRun extends MasterToSlaveFileCallable<Integer> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> cmd;
+    private final String logFile;
+    private final int tailLines;
+    private final String scanType;
+    private final OutputStream findings;
+    private final OutputStream summary;
+    private final Map<String, String> dockerEnv;
+
+    public ScannerRun(List<String> cmd, String logFile, int tailLines, String scanType,
+                      OutputStream findings, OutputStream summary, Map<String, String> dockerEnv) {
+        this.cmd       = List.copyOf(cmd);
+        this.logFile   = logFile;
+        this.tailLines = tailLines;
+        this.scanType  = scanType;
+        this.findings  = new RemoteOutputStream(findings);
+        this.summary   = new RemoteOutputStream(summary);
+        this.dockerEnv = Map.copyOf(dockerEnv);
+    }
+
+    @Override
+    public Integer invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException {
+        Path log = Path.of(logFile);
+        Files.createDirectories(log.getParent());
+
+        ProcessBuilder pb = new ProcessBuilder(cmd).directory(workspace).redirectErrorStream(true);
+        pb.environment().putAll(dockerEnv);
+        Process docker = pb.start();
+        docker.getOutputStream().close();
+
+        Splitter splitter = new Splitter(
+                new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(log), 64 * 1024)));
+        IOException[] failure = new IOException[1];
+        Thread pump = new Thread(() -> {
+            try (InputStream in = docker.getInputStream(); Splitter s = splitter) {
+                in.transferTo(s);
+            } catch (IOException e) {
+                failure[0] = e;
+                docker.destroyForcibly(); // nobody drains the pipe any more; don't leave the client blocked
+            }
+        }, "AccuKnox scanner output " + log.getFileName());
+        pump.setDaemon(true);
+        pump.start();
+
+        int rc;
+        try {
+            rc = docker.waitFor();
+            pump.join(); // the pipe closes once the client has exited
+        } catch (InterruptedException e) {
+            docker.destroyForcibly();
+            throw e;
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        for (String line : splitter.tail) {
+            summary.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        summary.flush();
+        findings.flush();
+        return rc;
+    }
+
+    /** Writes every line to the log, forwards findings and keeps the tail. */
+    private final class Splitter extends LineTransformationOutputStream {
+        private final OutputStream log;
+        private final Deque<String> tail = new ArrayDeque<>();
+
+        Splitter(OutputStream log) {
+            this.log = log;
+        }
+
+        @Override
+        protected void eol(byte[] b, int len) throws IOException {
+            log.write(b, 0, len);
+            String line = new String(b, 0, len, StandardCharsets.UTF_8);
+            if (FindingsParser.parse(scanType, line) != null) {
+                findings.write(b, 0, len);
+            }
+            if (tailLines > 0) {
+                int end = line.length();
+                while (end > 0 && (line.charAt(end - 1) == '\n' || line.charAt(end - 1) == '\r')) end--;
+                tail.addLast(line.substring(0, end));
+                while (tail.size() > tailLines) tail.removeFirst();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            forceEol();
+            log.close();
+        }
+    }
+}
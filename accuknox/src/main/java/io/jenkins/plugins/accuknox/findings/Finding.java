@@ -0,0 +1,53 @@
+package io.jenkins.plugins.accuknox.findings;
+
+import java.io.Serializable;
+
+/**
+ * A single scanner finding, as parsed from the live output stream.
+ * Immutable; any field except {@code severity} may be empty.
+ */
+public final class Finding implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String   scanType;
+    private final Severity severity;
+    private final String   ruleId;
+    private final String   path;
+    private final int      line;
+    private final String   message;
+
+    public Finding(String scanType, Severity severity, String ruleId, String path, int line, String message) {
+        this.scanType = nz(scanType);
+        this.severity = severity;
+        this.ruleId   = nz(ruleId);
+        this.path     = nz(path);
+        this.line     = Math.max(0, line);
+        this.message  = nz(message);
+    }
+
+    public String   getScanType() { return scanType; }
+    public Severity getSeverity() { return severity; }
+    public String   getRuleId()   { return ruleId; }
+    public String   getPath()     { return path; }
+    public int      getLine()     { return line; }
+    public String   getMessage()  { return message; }
+
+    /** Short one-line form used in build logs. */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(severity);
+        if (!ruleId.isEmpty()) sb.append(' ').append(ruleId);
+        if (!path.isEmpty()) {
+            sb.append(' ').append(path);
+            if (line > 0) sb.append(':').append(line);
+        }
+        if (!message.isEmpty()) sb.append(" — ").append(message);
+        return sb.toString();
+    }
+
+    private static String nz(String s) {
+        return (s == null) ? "" : s;
+    }
+}
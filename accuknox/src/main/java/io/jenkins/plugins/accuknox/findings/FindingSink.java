@@ -0,0 +1,12 @@
+package io.jenkins.plugins.accuknox.findings;
+
+/**
+ * Receives findings as they are parsed from scanner output.
+ *
+ * Called on the thread that pumps the scanner's stdout, so implementations
+ * must be quick and must never block on the scanner process itself.
+ */
+public interface FindingSink {
+
+    void accept(Finding finding);
+}
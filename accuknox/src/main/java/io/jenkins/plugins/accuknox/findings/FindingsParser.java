@@ -0,0 +1,69 @@
+package io.jenkins.plugins.accuknox.findings;
+
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+import java.util.Locale;
+
+/**
+ * Recognises finding lines in scanner output.
+ *
+ * The AccuKnox scanner images emit one JSON object per finding (JSON Lines)
+ * interleaved with human-readable progress output. A line is treated as a
+ * finding when it is a JSON object carrying a {@code severity} field; field
+ * names used by the common underlying engines (Semgrep, Checkov, Trivy,
+ * TruffleHog, ZAP) are accepted for the remaining attributes.
+ */
+public final class FindingsParser {
+
+    private static final String[] RULE_KEYS    = {"rule_id", "ruleId", "check_id", "rule", "id"};
+    private static final String[] PATH_KEYS    = {"path", "file", "file_path", "filename", "target"};
+    private static final String[] LINE_KEYS    = {"line", "start_line", "startLine"};
+    private static final String[] MESSAGE_KEYS = {"message", "title", "description", "name"};
+
+    private FindingsParser() {
+        // utility class
+    }
+
+    /** Returns the finding on {@code line}, or {@code null} if it is not a finding line. */
+    public static Finding parse(String scanType, String line) {
+        String s = line.trim();
+        if (s.length() < 2 || s.charAt(0) != '{' || s.charAt(s.length() - 1) != '}'
+                || !s.toLowerCase(Locale.ROOT).contains("\"severity\"")) {
+            return null;
+        }
+        JSONObject o;
+        try {
+            o = JSONObject.fromObject(s);
+        } catch (JSONException e) {
+            return null;
+        }
+        if (o.isNullObject() || !o.has("severity")) {
+            return null;
+        }
+        return new Finding(
+                scanType,
+                Severity.parse(o.optString("severity")),
+                first(o, RULE_KEYS),
+                first(o, PATH_KEYS),
+                firstInt(o, LINE_KEYS),
+                first(o, MESSAGE_KEYS)
+        );
+    }
+
+    private static String first(JSONObject o, String[] keys) {
+        for (String k : keys) {
+            String v = o.optString(k, "");
+            if (!v.isEmpty()) return v;
+        }
+        return "";
+    }
+
+    private static int firstInt(JSONObject o, String[] keys) {
+        for (String k : keys) {
+            int v = o.optInt(k, 0);
+            if (v > 0) return v;
+        }
+        return 0;
+    }
+}
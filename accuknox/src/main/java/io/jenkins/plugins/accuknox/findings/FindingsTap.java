@@ -0,0 +1,92 @@
+package io.jenkins.plugins.accuknox.findings;
+
+import hudson.console.LineTransformationOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Output stream placed between the scanner process and the build log.
+ *
+ * Every line is forwarded unchanged; lines recognised by
+ * {@link FindingsParser} are additionally handed to each registered
+ * {@link FindingSink}. A failing sink is logged and never breaks the log.
+ * Optionally the last few lines are kept in memory as a log summary.
+ *
+ * {@link #close()} only flushes: the delegate is the build log and must stay open.
+ */
+public class FindingsTap extends LineTransformationOutputStream.Delegating {
+
+    private static final Logger LOGGER = Logger.getLogger(FindingsTap.class.getName());
+
+    private final String scanType;
+    private final List<FindingSink> sinks = new CopyOnWriteArrayList<>();
+    private final Deque<String> tail = new ArrayDeque<>();
+    private int tailSize;
+
+    public FindingsTap(OutputStream out, String scanType) {
+        super(out);
+        this.scanType = scanType;
+    }
+
+    public FindingsTap addSink(FindingSink sink) {
+        sinks.add(sink);
+        return this;
+    }
+
+    /** Keeps the last {@code lines} lines for {@link #getTail()}. */
+    public FindingsTap keepTail(int lines) {
+        this.tailSize = lines;
+        return this;
+    }
+
+    public synchronized List<String> getTail() {
+        return new ArrayList<>(tail);
+    }
+
+    @Override
+    protected void eol(byte[] b, int len) throws IOException {
+        out.write(b, 0, len);
+        if (sinks.isEmpty() && tailSize == 0) {
+            return;
+        }
+        String line = new String(b, 0, len, StandardCharsets.UTF_8);
+        if (tailSize > 0) {
+            synchronized (this) {
+                tail.addLast(trimEol(line));
+                while (tail.size() > tailSize) tail.removeFirst();
+            }
+        }
+        Finding f = sinks.isEmpty() ? null : FindingsParser.parse(scanType, line);
+        if (f == null) {
+            return;
+        }
+        for (FindingSink sink : sinks) {
+            try {
+                sink.accept(f);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "AccuKnox finding sink " + sink.getClass().getName() + " failed", e);
+            }
+        }
+    }
+
+    private static String trimEol(String line) {
+        int end = line.length();
+        while (end > 0 && (line.charAt(end - 1) == '\n' || line.charAt(end - 1) == '\r')) end--;
+        return line.substring(0, end);
+    }
+
+    @Override
+    public void close() throws IOException {
+        forceEol();
+        out.flush();
+    }
+}
@@ -0,0 +1,81 @@
+package io.jenkins.plugins.accuknox.findings;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Severity thresholds evaluated incrementally against the live findings stream.
+ *
+ * The gate counts every finding it sees; the first time a count exceeds its
+ * configured maximum the breach callback fires exactly once, so the caller
+ * can stop the scanner without waiting for it to finish. A negative maximum
+ * means "no limit".
+ */
+public final class QualityGate implements FindingSink {
+
+    private final Map<Severity, Integer> limits = new EnumMap<>(Severity.class);
+    private final SeverityCounts counts = new SeverityCounts();
+    private final Runnable onBreach;
+
+    private volatile String breach;
+
+    public QualityGate(int maxCritical, int maxHigh, int maxMedium, int maxLow, Runnable onBreach) {
+        put(Severity.CRITICAL, maxCritical);
+        put(Severity.HIGH, maxHigh);
+        put(Severity.MEDIUM, maxMedium);
+        put(Severity.LOW, maxLow);
+        this.onBreach = onBreach;
+    }
+
+    private void put(Severity s, int max) {
+        if (max >= 0) limits.put(s, max);
+    }
+
+    /** {@code true} if at least one threshold is configured. */
+    public boolean isEnabled() {
+        return !limits.isEmpty();
+    }
+
+    @Override
+    public void accept(Finding f) {
+        long n = counts.increment(f.getSeverity());
+        Integer max = limits.get(f.getSeverity());
+        if (max == null || n <= max) {
+            return;
+        }
+        boolean first;
+        synchronized (this) {
+            first = (breach == null);
+            if (first) {
+                breach = f.getSeverity() + " findings exceed max" + label(f.getSeverity()) + "=" + max
+                        + " (first over the limit: " + f + ")";
+            }
+        }
+        if (first && onBreach != null) {
+            onBreach.run();
+        }
+    }
+
+    /** Description of the first breached threshold, or {@code null}. */
+    public String getBreach() { return breach; }
+
+    public boolean isBreached() { return breach != null; }
+
+    public SeverityCounts getCounts() { return counts; }
+
+    /** Human-readable list of the configured limits, e.g. {@code maxCritical=0, maxHigh=10}. */
+    public String describeLimits() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Severity, Integer> e : limits.entrySet()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append("max").append(label(e.getKey())).append('=').append(e.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static String label(Severity s) {
+        String n = s.name();
+        return n.charAt(0) + n.substring(1).toLowerCase(Locale.ROOT);
+    }
+}
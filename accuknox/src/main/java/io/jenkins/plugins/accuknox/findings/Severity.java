@@ -0,0 +1,41 @@
+package io.jenkins.plugins.accuknox.findings;
+
+import java.util.Locale;
+
+/** Normalised finding severity, ordered from most to least severe. */
+public enum Severity {
+
+    CRITICAL,
+    HIGH,
+    MEDIUM,
+    LOW,
+    INFO;
+
+    /**
+     * Maps the many spellings scanners use (e.g. "moderate", "warning",
+     * "informational") onto our five levels. Unknown values map to {@link #INFO}.
+     */
+    public static Severity parse(String raw) {
+        if (raw == null) {
+            return INFO;
+        }
+        switch (raw.trim().toUpperCase(Locale.ROOT)) {
+            case "CRITICAL":
+            case "BLOCKER":
+                return CRITICAL;
+            case "HIGH":
+            case "ERROR":
+            case "MAJOR":
+                return HIGH;
+            case "MEDIUM":
+            case "MODERATE":
+            case "WARNING":
+                return MEDIUM;
+            case "LOW":
+            case "MINOR":
+                return LOW;
+            default:
+                return INFO;
+        }
+    }
+}
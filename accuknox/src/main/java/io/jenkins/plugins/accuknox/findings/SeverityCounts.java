@@ -0,0 +1,36 @@
+package io.jenkins.plugins.accuknox.findings;
+
+import java.io.Serializable;
+
+/** Thread-safe per-severity finding counter. */
+public final class SeverityCounts implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long[] counts = new long[Severity.values().length];
+
+    public synchronized long increment(Severity s) {
+        return ++counts[s.ordinal()];
+    }
+
+    public synchronized long get(Severity s) {
+        return counts[s.ordinal()];
+    }
+
+    public synchronized long total() {
+        long t = 0;
+        for (long c : counts) t += c;
+        return t;
+    }
+
+    /** e.g. {@code CRITICAL 2 · HIGH 5 · MEDIUM 0 · LOW 1 · INFO 0} */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Severity s : Severity.values()) {
+            if (sb.length() > 0) sb.append(" · ");
+            sb.append(s).append(' ').append(counts[s.ordinal()]);
+        }
+        return sb.toString();
+    }
+}
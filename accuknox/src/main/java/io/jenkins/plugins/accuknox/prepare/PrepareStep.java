@@ -0,0 +1,219 @@
+package io.jenkins.plugins.accuknox.prepare;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import io.jenkins.plugins.accuknox.container.ContainerScanStep;
+import io.jenkins.plugins.accuknox.dast.DastScanStep;
+import io.jenkins.plugins.accuknox.docker.ImageCache;
+import io.jenkins.plugins.accuknox.docker.ImagePrefetch;
+import io.jenkins.plugins.accuknox.iac.IacScanStep;
+import io.jenkins.plugins.accuknox.sast.SastScanStep;
+import io.jenkins.plugins.accuknox.secret.SecretScanStep;
+import io.jenkins.plugins.accuknox.shared.AccuKnoxPaths;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Pipeline step: accuknoxPrepare
+ *
+ * Starts provisioning scanner images on the current agent in the
+ * background and returns at once, so that pulls and archive loads overlap
+ * with the build instead of delaying the scan steps, e.g.
+ * <pre>
+ * node {
+ *   accuknoxPrepare scanTypes: 'SAST,SECRET', images: 'myrepo/app:latest'
+ *   sh 'make'                      // images are fetched meanwhile
+ *   accuknoxSastScan ...           // waits for its image if still in flight
+ * }
+ * </pre>
+ * Only helps scan steps that run on the same agent. Progress goes to the
+ * Jenkins system log, and fetches still running when the build completes
+ * are cancelled.
+ */
+public class PrepareStep extends Step implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Scanner image per scan type name. */
+    static final Map<String, String> SCANNER_IMAGES = new LinkedHashMap<>();
+
+    static {
+        SCANNER_IMAGES.put("SAST", SastScanStep.DOCKER_IMAGE);
+        SCANNER_IMAGES.put("IAC", IacScanStep.DOCKER_IMAGE);
+        SCANNER_IMAGES.put("SECRET", SecretScanStep.DOCKER_IMAGE);
+        SCANNER_IMAGES.put("CONTAINER", ContainerScanStep.DOCKER_IMAGE);
+        SCANNER_IMAGES.put("DAST", DastScanStep.DOCKER_IMAGE);
+    }
+
+    /**
+     * Comma-separated scan types whose scanner images to fetch
+     * (SAST, IAC, SECRET, CONTAINER, DAST).
+     * Default: empty (all of them).
+     */
+    private String scanTypes = "";
+
+    /**
+     * Further comma-separated images to pull, e.g. the target of a
+     * container scan.
+     * Default: empty.
+     */
+    private String images = "";
+
+    /**
+     * When {@code true} the step waits until every image is ready.
+     * Default: {@code false} (fetch in the background).
+     */
+    private boolean wait = false;
+
+    @DataBoundConstructor
+    public PrepareStep() {
+        // all parameters optional
+    }
+
+    public String  getScanTypes() { return scanTypes; }
+    public String  getImages()    { return images; }
+    public boolean isWait()       { return wait; }
+
+    @DataBoundSetter
+    public void setScanTypes(String scanTypes) { this.scanTypes = scanTypes; }
+
+    @DataBoundSetter
+    public void setImages(String images)       { this.images = images; }
+
+    @DataBoundSetter
+    public void setWait(boolean wait)          { this.wait = wait; }
+
+    @Override
+    public StepExecution start(StepContext context) {
+        return new Execution(this, context);
+    }
+
+    /** Images to fetch: scanner images for {@code scanTypes}, then {@code images}. */
+    Set<String> resolveImages(EnvVars envVars) throws AbortException {
+        Set<String> out = new LinkedHashSet<>();
+        List<String> types = split(envVars.expand(scanTypes));
+        if (types.isEmpty()) {
+            out.addAll(SCANNER_IMAGES.values());
+        }
+        for (String t : types) {
+            String image = SCANNER_IMAGES.get(t.toUpperCase(Locale.ROOT));
+            if (image == null) {
+                throw new AbortException("[AccuKnox] Unknown scan type '" + t + "': use one of "
+                        + String.join(", ", SCANNER_IMAGES.keySet()) + ".");
+            }
+            out.add(image);
+        }
+        out.addAll(split(envVars.expand(images)));
+        return out;
+    }
+
+    private static List<String> split(String s) {
+        List<String> out = new ArrayList<>();
+        if (s == null) {
+            return out;
+        }
+        for (String part : s.split(",")) {
+            if (!part.trim().isEmpty()) out.add(part.trim());
+        }
+        return out;
+    }
+
+    private static final class Execution extends SynchronousNonBlockingStepExecution<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PrepareStep step;
+
+        Execution(PrepareStep step, StepContext context) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        protected Void run() throws Exception {
+            Run<?, ?> run = getContext().get(Run.class);
+            TaskListener listener = getContext().get(TaskListener.class);
+            FilePath workspace = getContext().get(FilePath.class);
+            EnvVars envVars = getContext().get(EnvVars.class);
+            if (envVars == null) {
+                envVars = new EnvVars();
+            }
+
+            PrintStream log = listener.getLogger();
+            Computer computer = workspace.toComputer();
+            Node node = computer != null ? computer.getNode() : null;
+            if (node == null) {
+                log.println("[AccuKnox] ⚠  Agent is offline — nothing prefetched.");
+                return null;
+            }
+            String nodeName = computer.getName();
+            Map<String, CompletableFuture<Boolean>> started = new LinkedHashMap<>();
+            for (String image : step.resolveImages(envVars)) {
+                log.println("[AccuKnox] Prefetch : " + image + (nodeName.isEmpty() ? "" : " on " + nodeName)
+                        + " (progress in the Jenkins system log)");
+                started.put(image, ImagePrefetch.start(run, node, workspace, AccuKnoxPaths.imageCache(workspace),
+                        nodeName, image, envVars.get(ImageCache.ENV_CACHE), envVars.get(ImageCache.ENV_ARCHIVES),
+                        envVars));
+            }
+            if (step.isWait()) {
+                for (Map.Entry<String, CompletableFuture<Boolean>> f : started.entrySet()) {
+                    boolean ok;
+                    try {
+                        ok = f.getValue().get();
+                    } catch (ExecutionException | CancellationException e) {
+                        ok = false; // the scan step will try again
+                    }
+                    log.println("[AccuKnox] Prefetch : " + f.getKey() + (ok ? " ready" : " not available"));
+                }
+            }
+            return null;
+        }
+    }
+
+    // ── Descriptor ───────────────────────────────────────────────
+
+    @Extension
+    public static final class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public String getFunctionName() {
+            return "accuknoxPrepare";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return "AccuKnox Prefetch Scanner Images";
+        }
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Set.of(Run.class, FilePath.class, TaskListener.class, EnvVars.class);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package io.jenkins.plugins.accuknox.report;
+
+import hudson.EnvVars;
+import hudson.model.EnvironmentContributingAction;
+import hudson.model.Run;
+import io.jenkins.plugins.accuknox.findings.Finding;
+import io.jenkins.plugins.accuknox.findings.Severity;
+import jenkins.model.RunAction2;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Build-wide AccuKnox summary: finding counts per scan type and severity,
+ * and one {@link ScanSummary} per scan step, across all parallel branches.
+ *
+ * Steps report in concurrently without locking: counts go into
+ * {@link LongAdder}s and step results into a concurrent queue. What is
+ * stored in {@code build.xml} is a snapshot taken when the build is saved
+ * (see {@link #writeReplace()}), deliberately tiny since it is loaded with
+ * every build. Individual findings live in the compact {@link FindingsStore}
+ * and are only read, one page at a time, when the report page or
+ * {@code api} asks for them. Totals are exported to later steps as
+ * {@code ACCUKNOX_TOTAL*} environment variables and by {@code accuknoxSummary}.
+ */
+public class AccuKnoxBuildAction implements RunAction2, EnvironmentContributingAction {
+
+    /** scan type -> counts indexed by {@link Severity#ordinal()}; persisted form of {@link #live} */
+    private Map<String, long[]> counts = new TreeMap<>();
+
+    /** Persisted form of {@link #liveScans}. */
+    private List<ScanSummary> scans = new ArrayList<>();
+
+    private transient ConcurrentMap<String, LongAdder[]> live = new ConcurrentHashMap<>();
+    private transient Queue<ScanSummary> liveScans = new ConcurrentLinkedQueue<>();
+    private transient Run<?, ?> run;
+
+    /** build id -> lock held while attaching its action; Jenkins itself synchronises on the build */
+    private static final ConcurrentMap<String, Object> ATTACHING = new ConcurrentHashMap<>();
+
+    /** Returns the build's action, attaching a new one if needed. */
+    public static AccuKnoxBuildAction of(Run<?, ?> run) {
+        AccuKnoxBuildAction a = run.getAction(AccuKnoxBuildAction.class);
+        if (a != null) {
+            return a;
+        }
+        String id = run.getExternalizableId();
+        Object lock = ATTACHING.computeIfAbsent(id, k -> new Object());
+        try {
+            synchronized (lock) {
+                a = run.getAction(AccuKnoxBuildAction.class);
+                if (a == null) {
+                    a = new AccuKnoxBuildAction();
+                    run.addAction(a);
+                }
+                return a;
+            }
+        } finally {
+            // whoever gets a fresh lock after this finds the action already attached
+            ATTACHING.remove(id, lock);
+        }
+    }
+
+    /**
+     * Adds a finished step; safe to call from any number of branches at once.
+     * Callers save the build afterwards, so the result survives a restart.
+     */
+    public void record(ScanSummary scan) {
+        LongAdder[] row = live.computeIfAbsent(scan.getScanType(), k -> newRow());
+        long[] c = scan.counts();
+        for (int i = 0; i < row.length; i++) {
+            row[i].add(c[i]);
+        }
+        liveScans.add(scan);
+    }
+
+    private static LongAdder[] newRow() {
+        LongAdder[] row = new LongAdder[Severity.values().length];
+        for (int i = 0; i < row.length; i++) row[i] = new LongAdder();
+        return row;
+    }
+
+    /** Snapshot of the counts per scan type, safe to iterate while other steps are still recording. */
+    public Map<String, long[]> getCounts() {
+        Map<String, long[]> copy = new TreeMap<>();
+        live.forEach((k, row) -> {
+            long[] c = new long[row.length];
+            for (int i = 0; i < row.length; i++) c[i] = row[i].sum();
+            copy.put(k, c);
+        });
+        return copy;
+    }
+
+    /** Scan steps in the order they finished. */
+    public List<ScanSummary> getScans() {
+        return new ArrayList<>(liveScans);
+    }
+
+    public long getTotal(Severity s) {
+        long t = 0;
+        for (LongAdder[] row : live.values()) t += row[s.ordinal()].sum();
+        return t;
+    }
+
+    public long getTotal() {
+        long t = 0;
+        for (Severity s : Severity.values()) t += getTotal(s);
+        return t;
+    }
+
+    public int getGateFailures() {
+        int n = 0;
+        for (ScanSummary s : liveScans) {
+            if (s.getGateBreach() != null) n++;
+        }
+        return n;
+    }
+
+    public int getPartialScans() {
+        int n = 0;
+        for (ScanSummary s : liveScans) {
+            if (s.isPartial()) n++;
+        }
+        return n;
+    }
+
+    /** Findings that scans with a baseline reported as new, summed over those scans. */
+    public long getNewFindings() {
+        long n = 0;
+        for (ScanSummary s : liveScans) {
+            if (s.getDelta() != null) n += s.getDelta().getAdded();
+        }
+        return n;
+    }
+
+    /** Totals for {@code accuknoxSummary}; only serializable values, as pipeline return values must be. */
+    public Map<String, Object> toMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("scans", liveScans.size());
+        m.put("gateFailures", getGateFailures());
+        m.put("partialScans", getPartialScans());
+        m.put("newFindings", getNewFindings());
+        m.put("total", getTotal());
+        for (Severity s : Severity.values()) {
+            m.put(s.name().toLowerCase(Locale.ROOT), getTotal(s));
+        }
+        Map<String, Object> byType = new TreeMap<>();
+        getCounts().forEach((type, c) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (Severity s : Severity.values()) {
+                row.put(s.name().toLowerCase(Locale.ROOT), c[s.ordinal()]);
+            }
+            byType.put(type, row);
+        });
+        m.put("byScanType", byType);
+        return m;
+    }
+
+    @Override
+    public void buildEnvironment(Run<?, ?> r, EnvVars env) {
+        env.put("ACCUKNOX_SCANS", Integer.toString(liveScans.size()));
+        env.put("ACCUKNOX_GATE_FAILURES", Integer.toString(getGateFailures()));
+        env.put("ACCUKNOX_PARTIAL_SCANS", Integer.toString(getPartialScans()));
+        env.put("ACCUKNOX_NEW_FINDINGS", Long.toString(getNewFindings()));
+        env.put("ACCUKNOX_TOTAL", Long.toString(getTotal()));
+        for (Severity s : Severity.values()) {
+            env.put("ACCUKNOX_TOTAL_" + s.name(), Long.toString(getTotal(s)));
+        }
+    }
+
+    /** XStream: persist a consistent snapshot of the live counters instead of the adders. */
+    protected Object writeReplace() {
+        AccuKnoxBuildAction snapshot = new AccuKnoxBuildAction();
+        snapshot.counts = getCounts();
+        snapshot.scans = getScans();
+        return snapshot;
+    }
+
+    /** XStream: rebuild the live counters from the persisted snapshot. */
+    protected Object readResolve() {
+        if (counts == null) {
+            counts = new TreeMap<>();
+        }
+        if (scans == null) {
+            scans = new ArrayList<>();
+        }
+        live = new ConcurrentHashMap<>();
+        counts.forEach((type, c) -> {
+            LongAdder[] row = newRow();
+            for (int i = 0; i < row.length && i < c.length; i++) row[i].add(c[i]);
+            live.put(type, row);
+        });
+        liveScans = new ConcurrentLinkedQueue<>(scans);
+        return this;
+    }
+
+    public Severity[] getSeverities() {
+        return Severity.values();
+    }
+
+    /** One page of findings for {@code index.jelly}, per the request's {@link FindingsQuery} parameters. */
+    public FindingsPage getPage(StaplerRequest req) throws IOException {
+        FindingsQuery q;
+        try {
+            q = FindingsQuery.from(req);
+            q.validate(run);
+        } catch (IllegalArgumentException e) {
+            return new FindingsPage(List.of(), null, e.getMessage());
+        }
+        List<Finding> findings = new ArrayList<>();
+        String next = q.page(run, findings::add);
+        return new FindingsPage(findings, next, null);
+    }
+
+    public static final class FindingsPage {
+        private final List<Finding> findings;
+        private final String next;
+        private final String error;
+
+        FindingsPage(List<Finding> findings, String next, String error) {
+            this.findings = findings;
+            this.next = next;
+            this.error = error;
+        }
+
+        public List<Finding> getFindings() { return findings; }
+        /** Cursor of the following page, or {@code null} on the last page. */
+        public String getNext()            { return next; }
+        public String getError()           { return error; }
+    }
+
+    /** {@code GET api}: paginated, filterable findings; see {@link FindingsApi}. */
+    public void doApi(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        FindingsApi.serve(run, req, rsp);
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> r) { this.run = r; }
+
+    @Override
+    public void onLoad(Run<?, ?> r) { this.run = r; }
+
+    @Override
+    public String getIconFileName() { return "symbol-analytics"; }
+
+    @Override
+    public String getDisplayName() { return "AccuKnox Security Report"; }
+
+    @Override
+    public String getUrlName() { return "accuknox"; }
+}
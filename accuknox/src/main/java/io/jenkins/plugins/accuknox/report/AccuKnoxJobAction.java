@@ -0,0 +1,151 @@
+package io.jenkins.plugins.accuknox.report;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.model.Run;
+import io.jenkins.plugins.accuknox.findings.Severity;
+import jenkins.model.TransientActionFactory;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Job-level AccuKnox page ({@code /job/<name>/accuknox/}) showing the
+ * findings trend, plus {@code trend} as JSON for dashboards and {@code api}
+ * for the findings of one build.
+ *
+ * Trend data is served from the {@link TrendIndex}; {@code api} loads only
+ * the build it reports on.
+ */
+public class AccuKnoxJobAction implements Action {
+
+    static final int DEFAULT_BUILDS = 30;
+    static final int MAX_BUILDS = 1000;
+
+    private static final Logger LOGGER = Logger.getLogger(AccuKnoxJobAction.class.getName());
+
+    private final Job<?, ?> job;
+
+    public AccuKnoxJobAction(Job<?, ?> job) {
+        this.job = job;
+    }
+
+    public Job<?, ?> getJob() { return job; }
+
+    /** Used by {@code index.jelly}; newest build last. */
+    public List<TrendIndex.TrendPoint> getTrend() {
+        try {
+            return TrendIndex.tail(job, DEFAULT_BUILDS);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read AccuKnox trend index of " + job.getFullName(), e);
+            return List.of();
+        }
+    }
+
+    public Severity[] getSeverities() {
+        return Severity.values();
+    }
+
+    /** Largest per-build total in the window; scales the chart bars. */
+    public long getMaxTotal(List<TrendIndex.TrendPoint> trend) {
+        long max = 1;
+        for (TrendIndex.TrendPoint p : trend) max = Math.max(max, p.getTotal());
+        return max;
+    }
+
+    /** {@code GET trend?builds=N}: per-build counts as JSON, oldest first. */
+    public void doTrend(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        int builds = parseInt(req.getParameter("builds"), DEFAULT_BUILDS);
+        builds = Math.max(1, Math.min(MAX_BUILDS, builds));
+        List<TrendIndex.TrendPoint> trend = TrendIndex.tail(job, builds);
+
+        rsp.setContentType("application/json;charset=UTF-8");
+        JsonWriter w = new JsonWriter(rsp.getWriter());
+        w.beginObject().field("job", job.getFullName()).name("builds").beginArray();
+        for (TrendIndex.TrendPoint p : trend) {
+            w.beginObject().field("number", p.getBuild()).field("timestamp", p.getTimestamp());
+            w.name("scans").beginObject();
+            for (Map.Entry<String, long[]> e : p.getCounts().entrySet()) {
+                w.name(e.getKey()).beginObject();
+                for (Severity s : Severity.values()) {
+                    w.field(s.name().toLowerCase(Locale.ROOT), e.getValue()[s.ordinal()]);
+                }
+                w.endObject();
+            }
+            w.endObject().endObject();
+        }
+        w.endArray().endObject().flush();
+    }
+
+    /**
+     * {@code GET api?build=N}: findings of build N, or of the newest build
+     * with scan results; same parameters as the build-level {@code api}.
+     */
+    public void doApi(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        int number = parseInt(req.getParameter("build"), -1);
+        if (number < 0) {
+            List<TrendIndex.TrendPoint> latest = TrendIndex.tail(job, 1);
+            number = latest.isEmpty() ? -1 : latest.get(0).getBuild();
+        }
+        Run<?, ?> run = number < 0 ? null : job.getBuildByNumber(number);
+        if (run == null) {
+            rsp.sendError(404, "No AccuKnox scan results");
+            return;
+        }
+        FindingsApi.serve(run, req, rsp);
+    }
+
+    static int parseInt(String s, int dflt) {
+        if (s == null || s.isEmpty()) return dflt;
+        try {
+            return Integer.parseInt(s.trim());
+        } catch (NumberFormatException e) {
+            return dflt;
+        }
+    }
+
+    @Override
+    public String getIconFileName() { return "symbol-analytics"; }
+
+    @Override
+    public String getDisplayName() { return "AccuKnox Trend"; }
+
+    @Override
+    public String getUrlName() { return "accuknox"; }
+
+    /**
+     * Adds the page to jobs that have a {@link TrendIndex}, or whose last
+     * build ran a scan (the index is written when the first scan finishes).
+     * Other jobs are left alone: checking them must not load their builds.
+     */
+    @Extension
+    public static final class Factory extends TransientActionFactory<Job> {
+
+        @Override
+        public Class<Job> type() {
+            return Job.class;
+        }
+
+        @NonNull
+        @Override
+        public Collection<? extends Action> createFor(@NonNull Job target) {
+            if (TrendIndex.exists(target)) {
+                return List.of(new AccuKnoxJobAction(target));
+            }
+            Run<?, ?> last = target.getLastBuild();
+            if (last != null && last.getAction(AccuKnoxBuildAction.class) != null) {
+                return List.of(new AccuKnoxJobAction(target));
+            }
+            return List.of();
+        }
+    }
+}
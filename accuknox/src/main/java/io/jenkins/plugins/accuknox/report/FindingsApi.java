@@ -0,0 +1,67 @@
+package io.jenkins.plugins.accuknox.report;
+
+import hudson.model.Run;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import java.io.IOException;
+
+/**
+ * {@code GET .../accuknox/api}: one page of a build's findings as JSON;
+ * parameters as in {@link FindingsQuery}.
+ *
+ * Records are streamed from the {@link FindingsStore} straight into the
+ * response. Responses carry a weak ETag over the query and the store
+ * files; {@code If-None-Match} with an unchanged build returns 304.
+ */
+final class FindingsApi {
+
+    private FindingsApi() {
+        // utility class
+    }
+
+    static void serve(Run<?, ?> run, StaplerRequest req, StaplerResponse rsp) throws IOException {
+        FindingsQuery q;
+        try {
+            q = FindingsQuery.from(req);
+            q.validate(run);
+        } catch (IllegalArgumentException e) {
+            rsp.sendError(400, e.getMessage());
+            return;
+        }
+
+        String etag = q.etag(run);
+        rsp.setHeader("ETag", etag);
+        rsp.setHeader("Cache-Control", "private, no-cache");
+        if (etag.equals(req.getHeader("If-None-Match"))) {
+            rsp.setStatus(304);
+            return;
+        }
+
+        rsp.setContentType("application/json;charset=UTF-8");
+        JsonWriter w = new JsonWriter(rsp.getWriter());
+        w.beginObject()
+                .field("build", run.getFullDisplayName())
+                .field("number", run.getNumber())
+                .field("building", run.isBuilding())
+                .field("limit", q.limit)
+                .name("findings").beginArray();
+
+        String next = q.page(run, f -> w.beginObject()
+                .field("scanType", f.getScanType())
+                .field("severity", f.getSeverity().name())
+                .field("rule", f.getRuleId())
+                .field("path", f.getPath())
+                .field("line", f.getLine())
+                .field("message", f.getMessage())
+                .endObject());
+
+        w.endArray().name("next");
+        if (next != null) {
+            w.value(next);
+        } else {
+            w.nullValue();
+        }
+        w.endObject().flush();
+    }
+}
@@ -0,0 +1,49 @@
+package io.jenkins.plugins.accuknox.report;
+
+import io.jenkins.plugins.accuknox.findings.Finding;
+
+/**
+ * How the findings of a scan compare with those of a baseline, e.g. the
+ * image currently deployed. Immutable; stored with its {@link ScanSummary}.
+ *
+ * Findings are matched by {@link #key(Finding)}: rule and location, not
+ * severity or message, which scanners revise over time.
+ */
+public final class FindingsDelta {
+
+    private final String baseline;
+    private final long added;
+    private final long fixed;
+    private final long unchanged;
+
+    /**
+     * @param fixed baseline findings the scan no longer reports, or
+     *              {@code -1} if unknown because the scan did not finish
+     */
+    public FindingsDelta(String baseline, long added, long fixed, long unchanged) {
+        this.baseline  = baseline;
+        this.added     = added;
+        this.fixed     = fixed;
+        this.unchanged = unchanged;
+    }
+
+    /** What the scan was compared with, e.g. an image reference. */
+    public String getBaseline()  { return baseline; }
+    /** Findings the baseline does not have. */
+    public long   getAdded()     { return added; }
+    /** Baseline findings the scan no longer reports; {@code -1} if unknown. */
+    public long   getFixed()     { return fixed; }
+    /** Findings present in both. */
+    public long   getUnchanged() { return unchanged; }
+
+    /** Identity of a finding across scans. */
+    public static String key(Finding f) {
+        return (f.getRuleId().isEmpty() ? f.getMessage() : f.getRuleId()) + '\0' + f.getPath();
+    }
+
+    @Override
+    public String toString() {
+        return added + " new, " + (fixed < 0 ? "?" : String.valueOf(fixed)) + " fixed, "
+                + unchanged + " unchanged vs " + baseline;
+    }
+}
@@ -0,0 +1,173 @@
+package io.jenkins.plugins.accuknox.report;
+
+import hudson.model.Run;
+import io.jenkins.plugins.accuknox.findings.Finding;
+import io.jenkins.plugins.accuknox.findings.Severity;
+import org.kohsuke.stapler.StaplerRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * One page request against a build's {@link FindingsStore}:
+ * <pre>
+ * scanType  SAST | SECRET | DAST | IAC | CONTAINER
+ * severity  comma-separated, e.g. CRITICAL,HIGH
+ * rule      exact rule id
+ * path      path prefix
+ * limit     page size (default 100, max 1000)
+ * cursor    "next" of the previous page
+ * </pre>
+ * The cursor encodes where the previous page stopped reading, so a page
+ * costs the same wherever it is in the result set. It is checked against
+ * the store's block headers before anything is read.
+ */
+final class FindingsQuery {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    /** Receives the records of a page. */
+    interface PageVisitor {
+        void visit(Finding f) throws IOException;
+    }
+
+    final String scanType;
+    final Set<Severity> severities;
+    final String rule;
+    final String path;
+    final int limit;
+    final String cursor;
+    private final FindingsStore.Position from;
+
+    FindingsQuery(String scanType, String severity, String rule, String path, String limit, String cursor) {
+        this.scanType = trimToNull(scanType);
+        this.rule = trimToNull(rule);
+        this.path = trimToNull(path);
+        this.severities = parseSeverities(severity);
+        this.limit = Math.max(1, Math.min(MAX_LIMIT, AccuKnoxJobAction.parseInt(limit, DEFAULT_LIMIT)));
+        this.cursor = trimToNull(cursor);
+        this.from = this.cursor == null ? FindingsStore.Position.START : decode(this.cursor);
+    }
+
+    /** @throws IllegalArgumentException if the cursor is malformed */
+    static FindingsQuery from(StaplerRequest req) {
+        return new FindingsQuery(req.getParameter("scanType"), req.getParameter("severity"), req.getParameter("rule"),
+                req.getParameter("path"), req.getParameter("limit"), req.getParameter("cursor"));
+    }
+
+    /** @throws IllegalArgumentException if the cursor does not point at a record of {@code run}'s store */
+    void validate(Run<?, ?> run) throws IOException {
+        validate(FindingsStore.dir(run));
+    }
+
+    void validate(File dir) throws IOException {
+        if (cursor == null) {
+            return;
+        }
+        try {
+            FindingsStore.checkPosition(dir, from);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage(), e);
+        }
+    }
+
+    /** Streams up to {@link #limit} matching findings; returns the cursor of the next page, or {@code null}. */
+    String page(Run<?, ?> run, PageVisitor visitor) throws IOException {
+        return page(FindingsStore.dir(run), visitor);
+    }
+
+    String page(File dir, PageVisitor visitor) throws IOException {
+        int[] emitted = {0};
+        FindingsStore.Position[] last = {from};
+        FindingsStore.Position[] next = {null};
+        FindingsStore.read(dir, scanType, from, (f, after) -> {
+            if (!matches(f)) {
+                last[0] = after;
+                return true;
+            }
+            if (emitted[0] == limit) {
+                next[0] = last[0];
+                return false;
+            }
+            visitor.visit(f);
+            emitted[0]++;
+            last[0] = after;
+            return true;
+        });
+        return next[0] == null ? null : encode(next[0]);
+    }
+
+    /** Weak ETag over the query and the state of the build's store files. */
+    String etag(Run<?, ?> run) {
+        StringBuilder sb = new StringBuilder()
+                .append(run.getParent().getFullName()).append('#').append(run.getNumber())
+                .append('\n').append(scanType == null ? "" : scanType.toUpperCase(Locale.ROOT))
+                .append('\n').append(severities == null ? "" : severities)
+                .append('\n').append(rule == null ? "" : rule)
+                .append('\n').append(path == null ? "" : path)
+                .append('\n').append(limit)
+                .append('\n').append(cursor == null ? "" : cursor);
+        for (File f : FindingsStore.files(run)) {
+            sb.append('\n').append(f.getName()).append(' ').append(f.length()).append(' ').append(f.lastModified());
+        }
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(d).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean matches(Finding f) {
+        return (severities == null || severities.contains(f.getSeverity()))
+                && (rule == null || rule.equals(f.getRuleId()))
+                && (path == null || f.getPath().startsWith(path));
+    }
+
+    private static Set<Severity> parseSeverities(String s) {
+        if (s == null || s.isBlank()) {
+            return null;
+        }
+        Set<Severity> set = EnumSet.noneOf(Severity.class);
+        for (String part : s.split(",")) {
+            if (!part.isBlank()) {
+                set.add(Severity.parse(part.trim()));
+            }
+        }
+        return set;
+    }
+
+    static String encode(FindingsStore.Position p) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((p.file + ":" + p.offset + ":" + p.record).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static FindingsStore.Position decode(String cursor) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            long offset = Long.parseLong(parts[1]);
+            int record = Integer.parseInt(parts[2]);
+            if (parts[0].isEmpty() || offset < 0 || record < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new FindingsStore.Position(parts[0], offset, record);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private static String trimToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+}
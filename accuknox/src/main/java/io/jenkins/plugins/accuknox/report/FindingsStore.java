@@ -0,0 +1,427 @@
+package io.jenkins.plugins.accuknox.report;
+
+import hudson.model.Run;
+import io.jenkins.plugins.accuknox.findings.Finding;
+import io.jenkins.plugins.accuknox.findings.FindingSink;
+import io.jenkins.plugins.accuknox.findings.Severity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Per-build findings storage, outside {@code build.xml}.
+ *
+ * Each scan step writes {@code <buildDir>/accuknox/findings-<SCANTYPE>-<scanId>.akf}
+ * while the scanner runs. The file is a sequence of independently deflated
+ * blocks of up to {@value #BLOCK_RECORDS} findings:
+ * <pre>
+ * file    = "AKF1" block*
+ * block   = int32 payloadLength, int32 recordCount, deflate(payload)
+ * payload = varint n, n × (varint len, UTF-8)          -- string dictionary
+ *           count × byte severity ordinal
+ *           count × varint rule, path, message index   -- one column each
+ *           count × varint line
+ * </pre>
+ * Rule ids, paths and messages repeat heavily, so the per-block dictionary
+ * and columnar layout keep files a small fraction of the raw output.
+ * Blocks are self-contained: readers seek to a block and inflate only that
+ * one, which keeps {@link Position}-based paging cheap and bounds memory
+ * to a single block.
+ */
+public final class FindingsStore {
+
+    private static final Logger LOGGER = Logger.getLogger(FindingsStore.class.getName());
+
+    static final String DIR = "accuknox";
+    static final int BLOCK_RECORDS = 1024;
+
+    private static final String PREFIX = "findings-";
+    private static final String SUFFIX = ".akf";
+    private static final byte[] MAGIC = {'A', 'K', 'F', '1'};
+    private static final int HEADER_BYTES = 8;
+    /** Larger headers can only come from a torn or foreign file. */
+    private static final int MAX_PAYLOAD = 64 * 1024 * 1024;
+
+    private FindingsStore() {
+        // utility class
+    }
+
+    public static File dir(Run<?, ?> run) {
+        return new File(run.getRootDir(), DIR);
+    }
+
+    /** Store files of a build in stable (name) order; empty if none. */
+    public static File[] files(Run<?, ?> run) {
+        return files(dir(run));
+    }
+
+    static File[] files(File dir) {
+        File[] files = dir.listFiles((d, n) -> n.startsWith(PREFIX) && n.endsWith(SUFFIX));
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files);
+        return files;
+    }
+
+    /** Scan type a store file belongs to; scan type names never contain {@code -}. */
+    public static String scanTypeOf(File f) {
+        String n = f.getName();
+        int dash = n.indexOf('-', PREFIX.length());
+        return n.substring(PREFIX.length(), dash > 0 ? dash : n.length() - SUFFIX.length());
+    }
+
+    public static Writer open(Run<?, ?> run, String scanType, String scanId) throws IOException {
+        return open(dir(run), scanType, scanId);
+    }
+
+    static Writer open(File dir, String scanType, String scanId) throws IOException {
+        Files.createDirectories(dir.toPath());
+        return new Writer(new File(dir, PREFIX + scanType + "-" + scanId + SUFFIX));
+    }
+
+    /**
+     * Copies another build's findings file (coalesced scans) into {@code run}.
+     * Returns the copy, or {@code null} if there was nothing to copy.
+     */
+    public static File adopt(Run<?, ?> run, File source, String scanType, String scanId) throws IOException {
+        if (source == null || !source.isFile()) {
+            return null;
+        }
+        File dir = dir(run);
+        Files.createDirectories(dir.toPath());
+        File target = new File(dir, PREFIX + scanType + "-" + scanId + SUFFIX);
+        Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+
+    /** Finding sink that buffers one block of columns and appends it when full. */
+    public static final class Writer implements FindingSink, Closeable {
+        private final File file;
+        private final OutputStream out;
+        private final byte[] severities = new byte[BLOCK_RECORDS];
+        private final String[] rules = new String[BLOCK_RECORDS];
+        private final String[] paths = new String[BLOCK_RECORDS];
+        private final String[] messages = new String[BLOCK_RECORDS];
+        private final int[] lines = new int[BLOCK_RECORDS];
+        private int count;
+        private boolean failed;
+
+        private Writer(File file) throws IOException {
+            this.file = file;
+            this.out = Files.newOutputStream(file.toPath());
+            out.write(MAGIC);
+        }
+
+        public File getFile() { return file; }
+
+        @Override
+        public synchronized void accept(Finding f) {
+            if (failed) {
+                return;
+            }
+            severities[count] = (byte) f.getSeverity().ordinal();
+            rules[count] = f.getRuleId();
+            paths[count] = f.getPath();
+            messages[count] = f.getMessage();
+            lines[count] = f.getLine();
+            if (++count == BLOCK_RECORDS) {
+                flushBlock();
+            }
+        }
+
+        private void flushBlock() {
+            if (count == 0 || failed) {
+                return;
+            }
+            try {
+                Map<String, Integer> dict = new HashMap<>();
+                int[] r = intern(rules, dict);
+                int[] p = intern(paths, dict);
+                int[] m = intern(messages, dict);
+                String[] strings = new String[dict.size()];
+                dict.forEach((s, i) -> strings[i] = s);
+
+                ByteArrayOutputStream raw = new ByteArrayOutputStream(count * 8);
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try (DataOutputStream d = new DataOutputStream(new DeflaterOutputStream(raw, deflater))) {
+                    writeVarint(d, strings.length);
+                    for (String s : strings) {
+                        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+                        writeVarint(d, b.length);
+                        d.write(b);
+                    }
+                    d.write(severities, 0, count);
+                    for (int i = 0; i < count; i++) writeVarint(d, r[i]);
+                    for (int i = 0; i < count; i++) writeVarint(d, p[i]);
+                    for (int i = 0; i < count; i++) writeVarint(d, m[i]);
+                    for (int i = 0; i < count; i++) writeVarint(d, lines[i]);
+                } finally {
+                    deflater.end();
+                }
+                // header and payload in one write, so readers never see a header without its block
+                ByteBuffer block = ByteBuffer.allocate(HEADER_BYTES + raw.size());
+                block.putInt(raw.size()).putInt(count).put(raw.toByteArray());
+                out.write(block.array());
+                out.flush();
+            } catch (IOException e) {
+                failed = true;
+                LOGGER.log(Level.WARNING, "Could not write AccuKnox findings to " + file, e);
+            } finally {
+                Arrays.fill(rules, 0, count, null);
+                Arrays.fill(paths, 0, count, null);
+                Arrays.fill(messages, 0, count, null);
+                count = 0;
+            }
+        }
+
+        private int[] intern(String[] column, Map<String, Integer> dict) {
+            int[] idx = new int[count];
+            for (int i = 0; i < count; i++) {
+                Integer known = dict.get(column[i]);
+                if (known == null) {
+                    known = dict.size();
+                    dict.put(column[i], known);
+                }
+                idx[i] = known;
+            }
+            return idx;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            flushBlock();
+            out.close();
+        }
+    }
+
+    /**
+     * Resume point: a store file name, the byte offset of a block in it and
+     * a record index within that block. Files sorting before {@link #file}
+     * are skipped; the empty name means "from the start".
+     */
+    public static final class Position {
+        public static final Position START = new Position("", 0, 0);
+
+        public final String file;
+        public final long offset;
+        public final int record;
+
+        public Position(String file, long offset, int record) {
+            this.file = file;
+            this.offset = offset;
+            this.record = record;
+        }
+    }
+
+    /** Receives records in order; return {@code false} to stop reading. */
+    public interface Visitor {
+        boolean visit(Finding f, Position next) throws IOException;
+    }
+
+    /** Streams findings starting at {@code from}, restricted to files of {@code scanType} if non-null. */
+    public static void read(Run<?, ?> run, String scanType, Position from, Visitor visitor) throws IOException {
+        read(dir(run), scanType, from, visitor);
+    }
+
+    static void read(File dir, String scanType, Position from, Visitor visitor) throws IOException {
+        for (File file : files(dir)) {
+            String name = file.getName();
+            int cmp = name.compareTo(from.file);
+            if (cmp < 0) {
+                continue;
+            }
+            String type = scanTypeOf(file);
+            if (scanType != null && !scanType.equalsIgnoreCase(type)) {
+                continue;
+            }
+            long offset = (cmp == 0 && from.offset >= MAGIC.length) ? from.offset : MAGIC.length;
+            if (!read(file, type, offset, cmp == 0 ? from.record : 0, visitor)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks that {@code p}, e.g. decoded from a client's cursor, is a
+     * position {@link #read} can hand out: a store file of {@code run}, the
+     * offset of one of its blocks, and a record index within that block.
+     * Block headers are followed from the start of the file, so an offset
+     * inside a payload is never taken for a header.
+     *
+     * @throws IllegalArgumentException if it is not
+     */
+    public static void checkPosition(Run<?, ?> run, Position p) throws IOException {
+        checkPosition(dir(run), p);
+    }
+
+    static void checkPosition(File dir, Position p) throws IOException {
+        for (File file : files(dir)) {
+            if (file.getName().equals(p.file)) {
+                checkPosition(file, p.offset, p.record);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("no findings file " + p.file);
+    }
+
+    private static void checkPosition(File file, long offset, int record) throws IOException {
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            for (long at = MAGIC.length; at <= offset; ) {
+                header.clear();
+                if (!readFully(ch, header, at) || !validHeader(header.getInt(0), header.getInt(4))) {
+                    break;
+                }
+                if (at == offset) {
+                    if (record < 0 || record > header.getInt(4)) {
+                        throw new IllegalArgumentException("no record " + record + " in block at " + offset);
+                    }
+                    return;
+                }
+                at += HEADER_BYTES + header.getInt(0);
+            }
+        }
+        throw new IllegalArgumentException("no block at " + offset + " in " + file.getName());
+    }
+
+    /** Streams all findings of a single store file, e.g. one returned by {@link Writer#getFile()}. */
+    public static void read(File file, Visitor visitor) throws IOException {
+        read(file, scanTypeOf(file), MAGIC.length, 0, visitor);
+    }
+
+    /** Returns {@code false} if the visitor asked to stop. */
+    private static boolean read(File file, String type, long offset, int skip, Visitor visitor) throws IOException {
+        String name = file.getName();
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (true) {
+                header.clear();
+                if (!readFully(ch, header, offset)) {
+                    return true;
+                }
+                int length = header.getInt(0);
+                int count = header.getInt(4);
+                if (!validHeader(length, count)) {
+                    LOGGER.warning("Corrupt AccuKnox findings block in " + file + " at " + offset);
+                    return true;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                if (!readFully(ch, payload, offset + HEADER_BYTES)) {
+                    return true; // block still being written
+                }
+                Finding[] block;
+                try {
+                    block = decode(type, payload.array(), count);
+                } catch (IOException e) {
+                    throw new IOException("Corrupt AccuKnox findings block in " + file + " at " + offset, e);
+                }
+                for (int i = skip; i < block.length; i++) {
+                    if (!visitor.visit(block[i], new Position(name, offset, i + 1))) {
+                        return false;
+                    }
+                }
+                skip = 0;
+                offset += HEADER_BYTES + length;
+            }
+        }
+    }
+
+    private static boolean validHeader(int length, int count) {
+        return length >= 0 && length <= MAX_PAYLOAD && count > 0 && count <= BLOCK_RECORDS;
+    }
+
+    private static boolean readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, position + buf.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Finding[] decode(String scanType, byte[] payload, int count) throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(payload)))) {
+            // at most three distinct strings (rule, path, message) per record
+            String[] dict = new String[bounded(readVarint(in), 3 * count + 1)];
+            for (int i = 0; i < dict.length; i++) {
+                byte[] b = new byte[bounded(readVarint(in), MAX_PAYLOAD + 1)];
+                in.readFully(b);
+                dict[i] = new String(b, StandardCharsets.UTF_8);
+            }
+            byte[] sev = new byte[count];
+            in.readFully(sev);
+            int[] rule = readColumn(in, count);
+            int[] path = readColumn(in, count);
+            int[] msg = readColumn(in, count);
+            int[] line = readColumn(in, count);
+            Severity[] severities = Severity.values();
+            Finding[] out = new Finding[count];
+            for (int i = 0; i < count; i++) {
+                out[i] = new Finding(scanType, severities[bounded(sev[i], severities.length)],
+                        dict[bounded(rule[i], dict.length)], dict[bounded(path[i], dict.length)],
+                        line[i], dict[bounded(msg[i], dict.length)]);
+            }
+            return out;
+        }
+    }
+
+    /** Returns {@code v} if it lies in {@code [0, limit)}; a decoded size or index outside it means a corrupt block. */
+    private static int bounded(int v, int limit) throws IOException {
+        if (v < 0 || v >= limit) {
+            throw new IOException("Value " + v + " out of range [0, " + limit + ")");
+        }
+        return v;
+    }
+
+    private static int[] readColumn(InputStream in, int count) throws IOException {
+        int[] col = new int[count];
+        for (int i = 0; i < count; i++) col[i] = readVarint(in);
+        return col;
+    }
+
+    private static void writeVarint(OutputStream out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    private static int readVarint(InputStream in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return v;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
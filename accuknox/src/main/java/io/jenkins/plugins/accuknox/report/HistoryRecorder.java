@@ -0,0 +1,121 @@
+package io.jenkins.plugins.accuknox.report;
+
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Run;
+import io.jenkins.plugins.accuknox.workspace.SnapshotStats;
+import io.jenkins.plugins.accuknox.workspace.WorkspaceSize;
+import jenkins.util.Timer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One scan step's use of the job's {@link ScanHistory}: the estimate shown
+ * in the banner, the warning when the scanner runs far over it, and the
+ * sample added once the scanner exits. None of it fails the step.
+ */
+public final class HistoryRecorder {
+
+    /** A scan is reported as slow once it runs this many times its usual p90 ... */
+    private static final int SLOW_FACTOR = 2;
+
+    /** ... and at least this much longer, so short scans do not warn on noise. */
+    private static final long SLOW_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /** How long to wait, after the scanner exits, for the workspace to finish being measured. */
+    private static final int SIZE_WAIT_SECONDS = 5;
+
+    /** A bind-mounted workspace is measured on every this many builds, once the history has a size. */
+    private static final int SIZE_SAMPLE_BUILDS = 10;
+
+    private final Run<?, ?> run;
+    private final String scanType;
+    private final String scanPath;
+
+    /** What the history expects of this scan; {@code null} without history. */
+    private final ScanHistory.Estimate estimate;
+
+    private Future<SnapshotStats> sizing;
+
+    /** Reads the estimate for {@code scanType} over {@code scanPath}; an unreadable history is only logged. */
+    public HistoryRecorder(Run<?, ?> run, String scanType, String scanPath, PrintStream log) {
+        this.run      = run;
+        this.scanType = scanType;
+        this.scanPath = scanPath;
+        ScanHistory.Estimate e = null;
+        try {
+            e = ScanHistory.estimate(run.getParent(), scanType, scanPath);
+        } catch (IOException ex) {
+            log.println("[AccuKnox] ⚠  Could not read scan history: " + ex.getMessage());
+        }
+        this.estimate = e;
+    }
+
+    public ScanHistory.Estimate getEstimate() { return estimate; }
+
+    /**
+     * Starts measuring a bind-mounted workspace while the scanner runs, off
+     * the Timer that also runs the step's stop, timeout and slow-scan tasks.
+     * The walk reads every directory the scanner reads, so once the history
+     * has a size it only runs on every {@value #SIZE_SAMPLE_BUILDS}th build.
+     */
+    public void measure(FilePath workspace, List<String> scanPaths) {
+        if (estimate == null || estimate.getBytesPerSecond() < 0 || run.getNumber() % SIZE_SAMPLE_BUILDS == 0) {
+            sizing = Computer.threadPoolForRemoting.submit(() -> workspace.act(new WorkspaceSize(scanPaths)));
+        }
+    }
+
+    /**
+     * Warns once when the scanner runs {@link #SLOW_FACTOR} times longer than
+     * its recent p90 (and at least {@link #SLOW_MARGIN_MILLIS} longer), if it
+     * is still {@code running} by then.
+     */
+    public ScheduledFuture<?> scheduleSlowWarning(BooleanSupplier running, PrintStream log) {
+        ScanHistory.Estimate h = estimate;
+        if (h == null) {
+            return null;
+        }
+        long after = Math.max(SLOW_FACTOR * h.getP90(), h.getP90() + SLOW_MARGIN_MILLIS);
+        return Timer.get().schedule(() -> {
+            if (running.getAsBoolean()) {
+                log.println("[AccuKnox] ⚠  Scan still running after " + Util.getTimeSpanString(after)
+                        + "; it usually finishes in " + Util.getTimeSpanString(h.getMedian()) + " (p90 "
+                        + Util.getTimeSpanString(h.getP90()) + ", " + h.getSamples()
+                        + " runs). Check the agent's load or what changed in the scanned tree.");
+            }
+        }, after, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds the scanner run to the job's history, with the size a snapshot or
+     * transfer reported ({@code scanned}) or else the one {@link #measure}
+     * took, if it finishes in time.
+     */
+    public void record(long started, long elapsed, int exit, SnapshotStats scanned, boolean partial,
+                       PrintStream log) throws InterruptedException {
+        SnapshotStats size = scanned;
+        if (sizing != null) {
+            try {
+                size = sizing.get(SIZE_WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                sizing.cancel(true); // record the run without a size rather than hold the step
+            }
+        }
+        try {
+            ScanHistory.record(run.getParent(), scanType, scanPath, new ScanHistory.Sample(
+                    run.getNumber(), started, elapsed, exit,
+                    size != null ? size.getFiles() : -1, size != null ? size.getBytes() : -1, partial));
+        } catch (IOException e) {
+            log.println("[AccuKnox] ⚠  Could not update scan history: " + e.getMessage());
+        }
+    }
+}
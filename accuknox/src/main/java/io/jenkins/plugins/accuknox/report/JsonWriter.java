@@ -0,0 +1,147 @@
+package io.jenkins.plugins.accuknox.report;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal streaming JSON writer.
+ *
+ * Values are written straight to the underlying {@link Writer}, so documents
+ * of any size can be produced in constant memory. Only structural state
+ * (nesting and "first element" flags) is kept.
+ */
+public final class JsonWriter implements Closeable, Flushable {
+
+    private final Writer out;
+    private final Deque<boolean[]> stack = new ArrayDeque<>();
+    private boolean afterName;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        separator();
+        out.write('{');
+        stack.push(new boolean[] {true});
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        stack.pop();
+        out.write('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        separator();
+        out.write('[');
+        stack.push(new boolean[] {true});
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        stack.pop();
+        out.write(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        separator();
+        string(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String v) throws IOException {
+        if (v == null) {
+            return nullValue();
+        }
+        separator();
+        string(v);
+        return this;
+    }
+
+    public JsonWriter value(long v) throws IOException {
+        separator();
+        out.write(Long.toString(v));
+        return this;
+    }
+
+    public JsonWriter value(boolean v) throws IOException {
+        separator();
+        out.write(v ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        separator();
+        out.write("null");
+        return this;
+    }
+
+    /** Shorthand for {@code name(n).value(v)}. */
+    public JsonWriter field(String n, String v) throws IOException {
+        return name(n).value(v);
+    }
+
+    public JsonWriter field(String n, long v) throws IOException {
+        return name(n).value(v);
+    }
+
+    public JsonWriter field(String n, boolean v) throws IOException {
+        return name(n).value(v);
+    }
+
+    private void separator() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        boolean[] first = stack.peek();
+        if (first == null) {
+            return;
+        }
+        if (first[0]) {
+            first[0] = false;
+        } else {
+            out.write(',');
+        }
+    }
+
+    private void string(String s) throws IOException {
+        out.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':  out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,223 @@
+package io.jenkins.plugins.accuknox.report;
+
+import io.jenkins.plugins.accuknox.findings.Finding;
+import io.jenkins.plugins.accuknox.findings.FindingSink;
+import io.jenkins.plugins.accuknox.findings.Severity;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes a SARIF 2.1.0 log as findings arrive.
+ *
+ * Results are streamed out immediately; only a 64-bit fingerprint per
+ * result (for de-duplication) and one entry per distinct rule are kept, so
+ * memory does not grow with the size of the report beyond 8 bytes a result.
+ * Rule metadata ({@code tool.driver.rules}) is written on {@link #close()},
+ * after the results — JSON member order is not significant.
+ */
+public final class SarifWriter implements FindingSink, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(SarifWriter.class.getName());
+
+    static final String SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    static final String FINGERPRINT = "accuknox/v1";
+
+    private final JsonWriter json;
+    private final String toolName;
+    private final String scanType;
+    private final LongSet seen = new LongSet();
+    private final Map<String, Rule> rules = new LinkedHashMap<>();
+    private long results;
+    private long duplicates;
+    private boolean failed;
+
+    private static final class Rule {
+        final String description;
+        Severity severity;
+
+        Rule(String description, Severity severity) {
+            this.description = description;
+            this.severity = severity;
+        }
+    }
+
+    public SarifWriter(OutputStream out, String toolName, String scanType) throws IOException {
+        this.json = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        this.toolName = toolName;
+        this.scanType = scanType;
+        json.beginObject()
+                .field("$schema", SCHEMA)
+                .field("version", "2.1.0")
+                .name("runs").beginArray()
+                .beginObject()
+                .name("results").beginArray();
+    }
+
+    @Override
+    public synchronized void accept(Finding f) {
+        if (failed) {
+            return;
+        }
+        long fp = fingerprint(f);
+        if (!seen.add(fp)) {
+            duplicates++;
+            return;
+        }
+        String ruleId = f.getRuleId().isEmpty() ? scanType : f.getRuleId();
+        Rule rule = rules.get(ruleId);
+        if (rule == null) {
+            rules.put(ruleId, new Rule(f.getMessage(), f.getSeverity()));
+        } else if (f.getSeverity().compareTo(rule.severity) < 0) {
+            rule.severity = f.getSeverity();
+        }
+        try {
+            json.beginObject()
+                    .field("ruleId", ruleId)
+                    .field("level", level(f.getSeverity()))
+                    .name("message").beginObject()
+                    .field("text", f.getMessage().isEmpty() ? ruleId : f.getMessage())
+                    .endObject();
+            if (!f.getPath().isEmpty()) {
+                json.name("locations").beginArray().beginObject()
+                        .name("physicalLocation").beginObject()
+                        .name("artifactLocation").beginObject().field("uri", f.getPath()).endObject();
+                if (f.getLine() > 0) {
+                    json.name("region").beginObject().field("startLine", f.getLine()).endObject();
+                }
+                json.endObject().endObject().endArray();
+            }
+            json.name("partialFingerprints").beginObject()
+                    .field(FINGERPRINT, String.format("%016x", fp))
+                    .endObject()
+                    .name("properties").beginObject()
+                    .field("severity", f.getSeverity().name())
+                    .endObject()
+                    .endObject();
+            results++;
+        } catch (IOException e) {
+            failed = true;
+            LOGGER.log(Level.WARNING, "Could not write SARIF report", e);
+        }
+    }
+
+    public synchronized long getResults()    { return results; }
+    public synchronized long getDuplicates() { return duplicates; }
+    public synchronized int  getRules()      { return rules.size(); }
+    public synchronized boolean isFailed()   { return failed; }
+
+    /** Writes the rule metadata and closes the document and the stream. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!failed) {
+            json.endArray()
+                    .name("tool").beginObject()
+                    .name("driver").beginObject()
+                    .field("name", toolName)
+                    .field("informationUri", "https://www.accuknox.com/")
+                    .name("rules").beginArray();
+            for (Map.Entry<String, Rule> e : rules.entrySet()) {
+                Rule r = e.getValue();
+                json.beginObject().field("id", e.getKey());
+                if (!r.description.isEmpty()) {
+                    json.name("shortDescription").beginObject().field("text", r.description).endObject();
+                }
+                json.name("defaultConfiguration").beginObject().field("level", level(r.severity)).endObject()
+                        .name("properties").beginObject()
+                        .field("security-severity", securitySeverity(r.severity))
+                        .endObject()
+                        .endObject();
+            }
+            json.endArray().endObject().endObject()
+                    .endObject().endArray().endObject();
+        }
+        json.close();
+    }
+
+    static String level(Severity s) {
+        switch (s) {
+            case CRITICAL:
+            case HIGH:
+                return "error";
+            case MEDIUM:
+                return "warning";
+            default:
+                return "note";
+        }
+    }
+
+    /** CVSS-style score read by code-scanning dashboards. */
+    static String securitySeverity(Severity s) {
+        switch (s) {
+            case CRITICAL: return "9.5";
+            case HIGH:     return "8.0";
+            case MEDIUM:   return "5.5";
+            case LOW:      return "3.0";
+            default:       return "0.0";
+        }
+    }
+
+    /** 64-bit FNV-1a over the identifying fields of a finding. */
+    static long fingerprint(Finding f) {
+        long h = 0xcbf29ce484222325L;
+        for (String part : new String[] {f.getRuleId(), f.getPath(), Integer.toString(f.getLine()), f.getMessage()}) {
+            for (int i = 0; i < part.length(); i++) {
+                h ^= part.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= 0x1f;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /** Open-addressing set of longs; avoids a boxed {@code Long} per result. */
+    static final class LongSet {
+        private long[] table = new long[1024];
+        private boolean hasZero;
+        private int size;
+
+        boolean add(long v) {
+            if (v == 0) {
+                boolean added = !hasZero;
+                hasZero = true;
+                return added;
+            }
+            if (size * 2 >= table.length) {
+                grow();
+            }
+            return insert(table, v);
+        }
+
+        private boolean insert(long[] t, long v) {
+            int mask = t.length - 1;
+            int i = (int) (v ^ (v >>> 32)) * 0x9E3779B9 & mask;
+            while (t[i] != 0) {
+                if (t[i] == v) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            t[i] = v;
+            size++;
+            return true;
+        }
+
+        private void grow() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            size = 0;
+            for (long v : old) {
+                if (v != 0) insert(table, v);
+            }
+        }
+    }
+}
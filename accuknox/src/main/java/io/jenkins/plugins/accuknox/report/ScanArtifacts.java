@@ -0,0 +1,104 @@
+package io.jenkins.plugins.accuknox.report;
+
+import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.BuildListener;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import io.jenkins.plugins.accuknox.workspace.SnapshotStats;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Files a scan step archives with its build: the SARIF report written into
+ * the workspace ({@code sarifFile}) and, with {@code logMode=artifact}, the
+ * compressed scanner log.
+ */
+public final class ScanArtifacts {
+
+    private final Run<?, ?> run;
+    private final FilePath workspace;
+    private final Launcher launcher;
+    private final TaskListener listener;
+    private final String scanType;
+
+    /** Workspace-relative path of the SARIF report; {@code null} if none was requested. */
+    private final String sarifPath;
+
+    public ScanArtifacts(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener,
+                         String scanType, String sarifFile, EnvVars envVars) {
+        this.run       = run;
+        this.workspace = workspace;
+        this.launcher  = launcher;
+        this.listener  = listener;
+        this.scanType  = scanType;
+        this.sarifPath = (sarifFile == null || sarifFile.trim().isEmpty())
+                ? null
+                : envVars.expand(sarifFile.trim()).replace('\\', '/');
+    }
+
+    /** A writer for the SARIF report, or {@code null} if none was requested. */
+    public SarifWriter openSarif() throws IOException, InterruptedException {
+        if (sarifPath == null) {
+            return null;
+        }
+        FilePath target = workspace.child(sarifPath);
+        FilePath parent = target.getParent();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        return new SarifWriter(target.write(), "AccuKnox " + scanType, scanType);
+    }
+
+    /** Logs the summary of a closed SARIF report and archives it with the build. */
+    public void publishSarif(SarifWriter sarif) throws IOException, InterruptedException {
+        PrintStream log = listener.getLogger();
+        if (sarif.isFailed()) {
+            log.println("[AccuKnox] ⚠  SARIF report " + sarifPath + " is incomplete — not archived.");
+            return;
+        }
+        log.println("[AccuKnox] SARIF    : " + sarifPath + " (" + sarif.getResults() + " results, "
+                + sarif.getRules() + " rules, " + sarif.getDuplicates() + " duplicates dropped)");
+        run.pickArtifactManager().archive(workspace, launcher, new ArchiveListener(listener),
+                Map.of(sarifPath, sarifPath));
+    }
+
+    /**
+     * Archives {@code logs/<logName>} under {@code scanDir} as
+     * {@code accuknox/<logName>}; returns the artifact path, or {@code null}
+     * if the scanner log was not written.
+     */
+    public String publishLog(FilePath scanDir, String logName) throws IOException, InterruptedException {
+        PrintStream log = listener.getLogger();
+        FilePath file = scanDir.child("logs").child(logName);
+        if (!file.exists()) {
+            log.println("[AccuKnox] ⚠  Scanner log " + logName + " was not written.");
+            return null;
+        }
+        String artifact = "accuknox/" + logName;
+        run.pickArtifactManager().archive(scanDir, launcher, new ArchiveListener(listener),
+                Map.of(artifact, "logs/" + logName));
+        log.println("[AccuKnox] Log      : " + artifact + " (" + SnapshotStats.humanBytes(file.length())
+                + " gzip) — full scanner output");
+        return artifact;
+    }
+
+    /** {@link BuildListener} view of a step's listener, as required by {@code ArtifactManager}. */
+    private static final class ArchiveListener implements BuildListener {
+        private static final long serialVersionUID = 1L;
+
+        private final TaskListener delegate;
+
+        ArchiveListener(TaskListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public PrintStream getLogger() {
+            return delegate.getLogger();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.jenkins.plugins.accuknox.report;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousStepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pipeline step: accuknoxScanEstimate
+ *
+ * Returns what this job's recent runs of a scan say about the next one,
+ * e.g. to start the slowest scan branch first:
+ * <pre>
+ * def sast = accuknoxScanEstimate(scanType: 'SAST', scanPath: 'services')
+ * echo "SAST usually takes ${sast.medianSeconds}s"
+ * </pre>
+ * Keys: {@code found}, {@code samples}, {@code timedOut},
+ * {@code medianSeconds}, {@code p90Seconds}, {@code maxSeconds},
+ * {@code lastExitCode}, {@code medianFiles}, {@code medianBytes} and
+ * {@code bytesPerSecond}. Sizes are -1 when no run recorded them; with no
+ * history at all only {@code found=false} and {@code samples=0} are set.
+ */
+public class ScanEstimateStep extends Step implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String scanType;
+
+    /**
+     * Scan path as passed to the scan step; for a step with several
+     * {@code scanPaths}, the resolved paths as its {@code ScanPath} log line
+     * shows them ({@code services/a, services/b}).
+     * Default: {@code .}.
+     */
+    private String scanPath = ".";
+
+    @DataBoundConstructor
+    public ScanEstimateStep(String scanType) {
+        this.scanType = scanType;
+    }
+
+    public String getScanType() { return scanType; }
+    public String getScanPath() { return scanPath; }
+
+    @DataBoundSetter
+    public void setScanPath(String scanPath) { this.scanPath = scanPath; }
+
+    @Override
+    public StepExecution start(StepContext context) {
+        return new Execution(this, context);
+    }
+
+    private static final class Execution extends SynchronousStepExecution<Map<String, Object>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ScanEstimateStep step;
+
+        Execution(ScanEstimateStep step, StepContext context) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        protected Map<String, Object> run() throws Exception {
+            Run<?, ?> run = getContext().get(Run.class);
+            TaskListener listener = getContext().get(TaskListener.class);
+            ScanHistory.Estimate e = ScanHistory.estimate(run.getParent(), step.scanType, step.scanPath);
+
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("found", e != null);
+            m.put("samples", e != null ? e.getSamples() : 0);
+            if (e == null) {
+                listener.getLogger().println("[AccuKnox] Estimate : " + step.scanType + " " + step.scanPath
+                        + " — no history yet");
+                return m;
+            }
+            m.put("timedOut", e.getTimedOut());
+            m.put("medianSeconds", seconds(e.getMedian()));
+            m.put("p90Seconds", seconds(e.getP90()));
+            m.put("maxSeconds", seconds(e.getMax()));
+            m.put("lastExitCode", e.getLastExitCode());
+            m.put("medianFiles", e.getMedianFiles());
+            m.put("medianBytes", e.getMedianBytes());
+            m.put("bytesPerSecond", e.getBytesPerSecond());
+            listener.getLogger().println("[AccuKnox] Estimate : " + step.scanType + " " + step.scanPath + " — ~"
+                    + Util.getTimeSpanString(e.getMedian()) + " (median of " + e.getSamples() + " runs, p90 "
+                    + Util.getTimeSpanString(e.getP90()) + ")");
+            return m;
+        }
+
+        private static long seconds(long millis) {
+            return (millis + 999) / 1000;
+        }
+    }
+
+    // ── Descriptor ───────────────────────────────────────────────
+
+    @Extension
+    public static final class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public String getFunctionName() {
+            return "accuknoxScanEstimate";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return "AccuKnox Scan Duration Estimate";
+        }
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Set.of(Run.class, TaskListener.class);
+        }
+    }
+}
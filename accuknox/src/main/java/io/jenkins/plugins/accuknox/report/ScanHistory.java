@@ -0,0 +1,300 @@
+package io.jenkins.plugins.accuknox.report;
+
+import hudson.model.Job;
+import io.jenkins.plugins.accuknox.workspace.ScanPaths;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Rolling per-job record of how long scanner runs took, for ETAs and
+ * capacity planning.
+ *
+ * {@code <jobDir>/accuknox-history.bin} is a fixed-size ring of
+ * {@value #CAPACITY} binary records behind a 16-byte header
+ * ({@code "AKH1"}, capacity, next slot, record count). A record is
+ * <pre>key:int64 build:int32 flags:int32 start:int64 duration:int64 files:int64 bytes:int64 exit:int32</pre>
+ * where {@code key} is a 64-bit FNV-1a hash of scan type and normalised
+ * scan path. Once the ring is full the oldest record is overwritten, so the
+ * file never grows beyond ~{@value #CAPACITY} × {@value #RECORD} bytes and
+ * an estimate reads it in one go. A file with a foreign header is started
+ * over rather than trusted.
+ */
+public final class ScanHistory {
+
+    static final String FILE_NAME = "accuknox-history.bin";
+
+    static final int CAPACITY = 1024;
+    static final int RECORD = 52;
+
+    private static final int MAGIC = 0x414b4831; // "AKH1"
+    private static final int HEADER = 16;
+
+    /** Newest complete runs an estimate is based on. */
+    static final int WINDOW = 20;
+
+    /** Set on runs stopped by their time limit; their duration is a lower bound. */
+    static final int FLAG_PARTIAL = 1;
+
+    private static final ConcurrentMap<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private ScanHistory() {
+        // utility class
+    }
+
+    /** One scanner run. {@code files} and {@code bytes} are -1 when unknown. */
+    public static final class Sample {
+        private final int build;
+        private final long start;
+        private final long duration;
+        private final int exitCode;
+        private final long files;
+        private final long bytes;
+        private final boolean partial;
+
+        public Sample(int build, long start, long duration, int exitCode, long files, long bytes, boolean partial) {
+            this.build    = build;
+            this.start    = start;
+            this.duration = duration;
+            this.exitCode = exitCode;
+            this.files    = files;
+            this.bytes    = bytes;
+            this.partial  = partial;
+        }
+
+        public int     getBuild()    { return build; }
+        public long    getStart()    { return start; }
+        /** Milliseconds from scanner start to exit. */
+        public long    getDuration() { return duration; }
+        public int     getExitCode() { return exitCode; }
+        public long    getFiles()    { return files; }
+        public long    getBytes()    { return bytes; }
+        public boolean isPartial()   { return partial; }
+    }
+
+    /** What the recent history of one (scan type, scan path) says about the next run. */
+    public static final class Estimate {
+        private final int samples;
+        private final int timedOut;
+        private final long median;
+        private final long p90;
+        private final long max;
+        private final int lastExitCode;
+        private final long medianFiles;
+        private final long medianBytes;
+
+        Estimate(List<Sample> recent, int timedOut) {
+            this.samples  = recent.size();
+            this.timedOut = timedOut;
+            long[] d = new long[samples];
+            List<Long> files = new ArrayList<>();
+            List<Long> bytes = new ArrayList<>();
+            for (int i = 0; i < samples; i++) {
+                Sample s = recent.get(i);
+                d[i] = s.getDuration();
+                if (s.getFiles() >= 0) files.add(s.getFiles());
+                if (s.getBytes() >= 0) bytes.add(s.getBytes());
+            }
+            Arrays.sort(d);
+            this.median       = percentile(d, 50);
+            this.p90          = percentile(d, 90);
+            this.max          = d[samples - 1];
+            this.lastExitCode = recent.get(0).getExitCode();
+            this.medianFiles  = median(files);
+            this.medianBytes  = median(bytes);
+        }
+
+        /** Complete runs the estimate is based on. */
+        public int  getSamples()      { return samples; }
+        /** Runs in the same window that hit their time limit. */
+        public int  getTimedOut()     { return timedOut; }
+        /** Milliseconds. */
+        public long getMedian()       { return median; }
+        public long getP90()          { return p90; }
+        public long getMax()          { return max; }
+        public int  getLastExitCode() { return lastExitCode; }
+        /** -1 when no run recorded it. */
+        public long getMedianFiles()  { return medianFiles; }
+        public long getMedianBytes()  { return medianBytes; }
+
+        /** Median scan throughput, or -1 when sizes are unknown. */
+        public long getBytesPerSecond() {
+            return medianBytes < 0 || median <= 0 ? -1 : medianBytes * 1000 / median;
+        }
+
+        private static long percentile(long[] sorted, int p) {
+            int i = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, i))];
+        }
+
+        private static long median(List<Long> values) {
+            if (values.isEmpty()) {
+                return -1;
+            }
+            long[] a = new long[values.size()];
+            for (int i = 0; i < a.length; i++) a[i] = values.get(i);
+            Arrays.sort(a);
+            return percentile(a, 50);
+        }
+    }
+
+    public static void record(Job<?, ?> job, String scanType, String scanPath, Sample s) throws IOException {
+        record(file(job), scanType, scanPath, s);
+    }
+
+    static void record(File f, String scanType, String scanPath, Sample s) throws IOException {
+        synchronized (lock(f)) {
+            try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+                int next = 0;
+                int size = 0;
+                if (validHeader(raf)) {
+                    raf.seek(8);
+                    next = raf.readInt();
+                    size = raf.readInt();
+                }
+                if (next < 0 || next >= CAPACITY || size < 0 || size > CAPACITY) {
+                    next = 0;
+                    size = 0;
+                }
+                if (size == 0) {
+                    raf.setLength(0);
+                }
+                ByteBuffer b = ByteBuffer.allocate(RECORD);
+                b.putLong(key(scanType, scanPath))
+                        .putInt(s.getBuild())
+                        .putInt(s.isPartial() ? FLAG_PARTIAL : 0)
+                        .putLong(s.getStart())
+                        .putLong(s.getDuration())
+                        .putLong(s.getFiles())
+                        .putLong(s.getBytes())
+                        .putInt(s.getExitCode());
+                raf.seek(HEADER + (long) next * RECORD);
+                raf.write(b.array());
+                // header last: a crash mid-record leaves the previous state readable
+                raf.seek(0);
+                raf.writeInt(MAGIC);
+                raf.writeInt(CAPACITY);
+                raf.writeInt((next + 1) % CAPACITY);
+                raf.writeInt(Math.min(CAPACITY, size + 1));
+            }
+        }
+    }
+
+    /** Runs of one (scan type, scan path), newest first; at most {@code limit}. */
+    public static List<Sample> samples(Job<?, ?> job, String scanType, String scanPath, int limit)
+            throws IOException {
+        return samples(file(job), scanType, scanPath, limit);
+    }
+
+    static List<Sample> samples(File f, String scanType, String scanPath, int limit) throws IOException {
+        List<Sample> out = new ArrayList<>();
+        if (!f.isFile()) {
+            return out;
+        }
+        byte[] data;
+        int next;
+        int size;
+        synchronized (lock(f)) {
+            try (RandomAccessFile raf = new RandomAccessFile(f, "r")) {
+                if (!validHeader(raf)) {
+                    return out;
+                }
+                raf.seek(8);
+                next = raf.readInt();
+                size = raf.readInt();
+                if (next < 0 || next >= CAPACITY || size < 0 || size > CAPACITY || (size < CAPACITY && next != size)
+                        || raf.length() < HEADER + (long) size * RECORD) {
+                    return out;
+                }
+                data = new byte[size * RECORD];
+                raf.seek(HEADER);
+                raf.readFully(data);
+            }
+        }
+        long key = key(scanType, scanPath);
+        ByteBuffer b = ByteBuffer.wrap(data);
+        for (int i = 1; i <= size && out.size() < limit; i++) {
+            // until the ring wraps, next == size and records fill slots 0..size-1
+            b.position(Math.floorMod(next - i, CAPACITY) * RECORD);
+            if (b.getLong() != key) {
+                continue;
+            }
+            int build = b.getInt();
+            int flags = b.getInt();
+            long start = b.getLong();
+            long duration = b.getLong();
+            long files = b.getLong();
+            long bytes = b.getLong();
+            int exit = b.getInt();
+            out.add(new Sample(build, start, duration, exit, files, bytes, (flags & FLAG_PARTIAL) != 0));
+        }
+        return out;
+    }
+
+    /**
+     * Estimate from the newest {@value #WINDOW} complete runs, or {@code null}
+     * if there are none. Runs stopped by a time limit only say the scan takes
+     * at least that long, so they are counted but not averaged.
+     */
+    public static Estimate estimate(Job<?, ?> job, String scanType, String scanPath) throws IOException {
+        return estimate(file(job), scanType, scanPath);
+    }
+
+    static Estimate estimate(File f, String scanType, String scanPath) throws IOException {
+        List<Sample> complete = new ArrayList<>();
+        int timedOut = 0;
+        for (Sample s : samples(f, scanType, scanPath, CAPACITY)) {
+            if (complete.size() + timedOut == WINDOW) {
+                break;
+            }
+            if (s.isPartial()) {
+                timedOut++;
+            } else {
+                complete.add(s);
+            }
+        }
+        return complete.isEmpty() ? null : new Estimate(complete, timedOut);
+    }
+
+    /** 64-bit FNV-1a of {@code scanType NUL scanPath}, the path as {@link ScanPaths#normalise} spells it. */
+    static long key(String scanType, String scanPath) {
+        String path;
+        try {
+            path = ScanPaths.normalise(scanPath);
+        } catch (IllegalArgumentException e) {
+            path = scanPath.trim(); // never scanned, but still a distinct key
+        }
+        long h = 0xcbf29ce484222325L;
+        byte[] b = (scanType.toUpperCase(Locale.ROOT) + '\0' + path).getBytes(StandardCharsets.UTF_8);
+        for (byte x : b) {
+            h ^= (x & 0xff);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static boolean validHeader(RandomAccessFile raf) throws IOException {
+        if (raf.length() < HEADER) {
+            return false;
+        }
+        raf.seek(0);
+        return raf.readInt() == MAGIC && raf.readInt() == CAPACITY;
+    }
+
+    private static File file(Job<?, ?> job) {
+        return new File(job.getRootDir(), FILE_NAME);
+    }
+
+    private static Object lock(File f) {
+        return LOCKS.computeIfAbsent(f.getAbsolutePath(), k -> new Object());
+    }
+}
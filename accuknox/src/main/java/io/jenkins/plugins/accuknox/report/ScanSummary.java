@@ -0,0 +1,66 @@
+package io.jenkins.plugins.accuknox.report;
+
+import io.jenkins.plugins.accuknox.findings.Severity;
+import io.jenkins.plugins.accuknox.findings.SeverityCounts;
+
+/**
+ * Result of one scan step, as kept in the build-wide {@link AccuKnoxBuildAction}.
+ * Immutable; stored in {@code build.xml}, so keep it small.
+ */
+public final class ScanSummary {
+
+    private final String scanType;
+    private final String scanPath;
+    private final int exitCode;
+    private final String gateBreach;
+    private final String sharedFrom;
+    private final boolean partial;
+    private final String logArtifact;
+    private final FindingsDelta delta;
+    private final long[] counts;
+    private final long timestamp;
+
+    public ScanSummary(String scanType, String scanPath, int exitCode, String gateBreach, String sharedFrom,
+                       boolean partial, String logArtifact, FindingsDelta delta, SeverityCounts c) {
+        this.scanType   = scanType;
+        this.scanPath   = scanPath;
+        this.exitCode   = exitCode;
+        this.gateBreach = gateBreach;
+        this.sharedFrom = sharedFrom;
+        this.partial    = partial;
+        this.logArtifact = logArtifact;
+        this.delta      = delta;
+        this.counts     = new long[Severity.values().length];
+        for (Severity s : Severity.values()) counts[s.ordinal()] = c.get(s);
+        this.timestamp  = System.currentTimeMillis();
+    }
+
+    public String getScanType()   { return scanType; }
+    public String getScanPath()   { return scanPath; }
+    public int    getExitCode()   { return exitCode; }
+    /** Description of the quality-gate breach, or {@code null} if the gate held. */
+    public String getGateBreach() { return gateBreach; }
+    /** Build whose scanner run this result was coalesced from, or {@code null}. */
+    public String getSharedFrom() { return sharedFrom; }
+    /** Whether the scan hit its time limit; counts then cover only what was found until then. */
+    public boolean isPartial()    { return partial; }
+    /** Build artifact holding the compressed scanner output, or {@code null} if it went to the console. */
+    public String getLogArtifact() { return logArtifact; }
+    /** Comparison with a baseline scan, or {@code null} if the step had none. */
+    public FindingsDelta getDelta() { return delta; }
+    public long   getTimestamp()  { return timestamp; }
+
+    public long getCount(Severity s) {
+        return counts[s.ordinal()];
+    }
+
+    public long getTotal() {
+        long t = 0;
+        for (long c : counts) t += c;
+        return t;
+    }
+
+    long[] counts() {
+        return counts;
+    }
+}
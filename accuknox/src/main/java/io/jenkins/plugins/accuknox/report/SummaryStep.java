@@ -0,0 +1,95 @@
+package io.jenkins.plugins.accuknox.report;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import io.jenkins.plugins.accuknox.findings.Severity;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousStepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pipeline step: accuknoxSummary
+ *
+ * Returns the build-wide totals of all AccuKnox scan steps that have
+ * finished so far, across parallel branches, e.g.
+ * <pre>
+ * def s = accuknoxSummary()
+ * if (s.critical &gt; 0) { unstable 'critical findings' }
+ * </pre>
+ * Keys: {@code scans}, {@code gateFailures}, {@code partialScans}, {@code newFindings}
+ * (relative to a container scan's {@code baselineImage}), {@code total}, one per
+ * severity ({@code critical} … {@code info}) and {@code byScanType}.
+ */
+public class SummaryStep extends Step implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @DataBoundConstructor
+    public SummaryStep() {
+        // no parameters
+    }
+
+    @Override
+    public StepExecution start(StepContext context) {
+        return new Execution(context);
+    }
+
+    private static final class Execution extends SynchronousStepExecution<Map<String, Object>> {
+
+        private static final long serialVersionUID = 1L;
+
+        Execution(StepContext context) {
+            super(context);
+        }
+
+        @Override
+        protected Map<String, Object> run() throws Exception {
+            Run<?, ?> run = getContext().get(Run.class);
+            TaskListener listener = getContext().get(TaskListener.class);
+            AccuKnoxBuildAction summary = run.getAction(AccuKnoxBuildAction.class);
+            if (summary == null) {
+                summary = new AccuKnoxBuildAction(); // no scan has finished yet; all zero
+            }
+
+            StringBuilder sb = new StringBuilder();
+            for (Severity s : Severity.values()) {
+                sb.append(" · ").append(s).append(' ').append(summary.getTotal(s));
+            }
+            listener.getLogger().println("[AccuKnox] Summary  : " + summary.getScans().size() + " scan(s)" + sb
+                    + " · " + summary.getGateFailures() + " gate failure(s) · " + summary.getPartialScans()
+                    + " timed out");
+            return summary.toMap();
+        }
+    }
+
+    // ── Descriptor ───────────────────────────────────────────────
+
+    @Extension
+    public static final class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public String getFunctionName() {
+            return "accuknoxSummary";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return "AccuKnox Pipeline Security Summary";
+        }
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Set.of(Run.class, TaskListener.class);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package io.jenkins.plugins.accuknox.report;
+
+import hudson.model.Job;
+import hudson.model.Run;
+import io.jenkins.plugins.accuknox.findings.Severity;
+import io.jenkins.plugins.accuknox.findings.SeverityCounts;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Append-only per-job index of finding counts, for trend views that must
+ * not load old builds.
+ *
+ * One line per finished scan step, in {@code <jobDir>/accuknox-trend.idx}:
+ * <pre>build TAB scanType TAB critical,high,medium,low,info TAB timestamp</pre>
+ * Readers scan the file backwards and stop once they have the requested
+ * number of builds, so the cost depends on the window size, not on how
+ * many builds the job retains. Builds whose directory is gone (discarded
+ * or deleted) are skipped. If the file is missing it is rebuilt once
+ * from the {@link AccuKnoxBuildAction}s of completed builds; a job without
+ * any gets no file. Once it exceeds {@link #MAX_BYTES} it is rewritten with
+ * the {@link #KEEP_BUILDS} newest builds that still exist.
+ */
+public final class TrendIndex {
+
+    static final String FILE_NAME = "accuknox-trend.idx";
+
+    static final long MAX_BYTES = 1024 * 1024;
+    static final int KEEP_BUILDS = 500;
+
+    private static final int CHUNK = 16 * 1024;
+
+    private static final ConcurrentMap<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private TrendIndex() {
+        // utility class
+    }
+
+    /** One build's counts, summed per scan type. */
+    public static final class TrendPoint {
+        private final int build;
+        private long timestamp;
+        private final Map<String, long[]> counts = new TreeMap<>();
+
+        TrendPoint(int build) {
+            this.build = build;
+        }
+
+        void add(String scanType, long[] c, long ts) {
+            long[] row = counts.computeIfAbsent(scanType, k -> new long[Severity.values().length]);
+            for (int i = 0; i < row.length && i < c.length; i++) row[i] += c[i];
+            timestamp = Math.max(timestamp, ts);
+        }
+
+        public int getBuild()                  { return build; }
+        public long getTimestamp()             { return timestamp; }
+        public Map<String, long[]> getCounts() { return counts; }
+
+        public long getTotal(Severity s) {
+            long t = 0;
+            for (long[] row : counts.values()) t += row[s.ordinal()];
+            return t;
+        }
+
+        public long getTotal() {
+            long t = 0;
+            for (Severity s : Severity.values()) t += getTotal(s);
+            return t;
+        }
+    }
+
+    public static void append(Run<?, ?> run, String scanType, SeverityCounts c) throws IOException {
+        Job<?, ?> job = run.getParent();
+        File f = file(job);
+        synchronized (lock(f)) {
+            if (!f.exists()) {
+                rebuild(job, f);
+            }
+            append(f, run.getNumber(), scanType, toArray(c), System.currentTimeMillis(), retained(job));
+        }
+    }
+
+    /** Appends one line, compacting the file first if it has grown beyond {@link #MAX_BYTES}. */
+    static void append(File f, int build, String scanType, long[] c, long ts, IntPredicate exists)
+            throws IOException {
+        if (f.length() > MAX_BYTES) {
+            compact(f, exists);
+        }
+        try (Writer w = Files.newBufferedWriter(f.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            w.write(line(build, scanType, c, ts));
+        }
+    }
+
+    /** Rewrites the file with the lines of the {@link #KEEP_BUILDS} newest builds that still exist. */
+    static void compact(File f, IntPredicate exists) throws IOException {
+        List<String> lines = Files.readAllLines(f.toPath(), StandardCharsets.UTF_8);
+        Set<Integer> kept = new HashSet<>();
+        List<String> out = new ArrayList<>();
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            int build = build(lines.get(i));
+            if (build < 0 || !exists.test(build)) {
+                continue;
+            }
+            if (kept.size() == KEEP_BUILDS && !kept.contains(build)) {
+                continue;
+            }
+            kept.add(build);
+            out.add(lines.get(i) + "\n");
+        }
+        Collections.reverse(out);
+        write(f, out);
+    }
+
+    /** Whether the job has an index, i.e. has recorded scan results since it was created or rebuilt. */
+    public static boolean exists(Job<?, ?> job) {
+        return file(job).isFile();
+    }
+
+    /** The newest {@code builds} builds that have scan results, oldest first. */
+    public static List<TrendPoint> tail(Job<?, ?> job, int builds) throws IOException {
+        File f = file(job);
+        synchronized (lock(f)) {
+            if (!f.exists() && !rebuild(job, f)) {
+                return List.of();
+            }
+        }
+        return tail(f, builds, retained(job));
+    }
+
+    static List<TrendPoint> tail(File f, int builds, IntPredicate exists) throws IOException {
+        Map<Integer, Boolean> seen = new HashMap<>();
+        IntPredicate live = n -> seen.computeIfAbsent(n, exists::test);
+        Map<Integer, TrendPoint> points = new TreeMap<>(Collections.reverseOrder());
+        try (RandomAccessFile raf = new RandomAccessFile(f, "r")) {
+            long len = raf.length();
+            long window = Math.min(len, CHUNK);
+            while (true) {
+                points.clear();
+                long start = len - window;
+                byte[] buf = new byte[(int) window];
+                raf.seek(start);
+                raf.readFully(buf);
+                String[] lines = new String(buf, StandardCharsets.UTF_8).split("\n");
+                // the first line is partial unless the window reaches the start of the file
+                for (int i = (start == 0 ? 0 : 1); i < lines.length; i++) {
+                    parse(lines[i], points, live);
+                }
+                if (points.size() > builds || start == 0 || window >= Integer.MAX_VALUE / 2) {
+                    break;
+                }
+                window = Math.min(len, window * 2);
+            }
+        }
+        List<TrendPoint> out = new ArrayList<>();
+        for (TrendPoint p : points.values()) {
+            if (out.size() == builds) break;
+            out.add(p);
+        }
+        Collections.reverse(out);
+        return out;
+    }
+
+    /** Writes the index from the job's builds; {@code false}, writing nothing, if none has scan results. */
+    private static boolean rebuild(Job<?, ?> job, File f) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Run<?, ?> r : job.getBuilds()) {
+            if (r.isBuilding()) {
+                continue;
+            }
+            AccuKnoxBuildAction a = r.getAction(AccuKnoxBuildAction.class);
+            if (a == null) {
+                continue;
+            }
+            for (Map.Entry<String, long[]> e : a.getCounts().entrySet()) {
+                lines.add(line(r.getNumber(), e.getKey(), e.getValue(), r.getTimeInMillis()));
+            }
+        }
+        if (lines.isEmpty()) {
+            return false;
+        }
+        Collections.reverse(lines);
+        write(f, lines);
+        return true;
+    }
+
+    /** Replaces the file with {@code lines}, each ending in a newline. */
+    static void write(File f, List<String> lines) throws IOException {
+        File tmp = new File(f.getPath() + ".tmp");
+        try (Writer w = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+            for (String l : lines) w.write(l);
+        }
+        Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Whether build {@code n} of {@code job} still exists, judged by its directory without loading it. */
+    private static IntPredicate retained(Job<?, ?> job) {
+        File dir = job.getBuildDir();
+        return n -> new File(dir, String.valueOf(n)).isDirectory();
+    }
+
+    /** Build number of an index line, or {@code -1} for a torn or foreign one. */
+    private static int build(String line) {
+        int tab = line.indexOf('\t');
+        try {
+            return tab > 0 ? Integer.parseInt(line.substring(0, tab)) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void parse(String line, Map<Integer, TrendPoint> points, IntPredicate exists) {
+        String[] f = line.split("\t");
+        if (f.length < 4) {
+            return;
+        }
+        try {
+            int build = Integer.parseInt(f[0]);
+            if (!exists.test(build)) {
+                return;
+            }
+            String[] cs = f[2].split(",");
+            long[] c = new long[cs.length];
+            for (int i = 0; i < cs.length; i++) c[i] = Long.parseLong(cs[i]);
+            points.computeIfAbsent(build, TrendPoint::new).add(f[1], c, Long.parseLong(f[3].trim()));
+        } catch (NumberFormatException e) {
+            // torn or foreign line; skip
+        }
+    }
+
+    private static String line(int build, String scanType, long[] c, long ts) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(build).append('\t').append(scanType).append('\t');
+        for (int i = 0; i < c.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(c[i]);
+        }
+        return sb.append('\t').append(ts).append('\n').toString();
+    }
+
+    private static long[] toArray(SeverityCounts c) {
+        long[] a = new long[Severity.values().length];
+        for (Severity s : Severity.values()) a[s.ordinal()] = c.get(s);
+        return a;
+    }
+
+    private static File file(Job<?, ?> job) {
+        return new File(job.getRootDir(), FILE_NAME);
+    }
+
+    private static Object lock(File f) {
+        return LOCKS.computeIfAbsent(f.getAbsolutePath(), k -> new Object());
+    }
+}
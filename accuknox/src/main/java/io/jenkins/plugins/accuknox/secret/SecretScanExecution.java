@@ -1,16 +1,22 @@
 package io.jenkins.plugins.accuknox.secret;
 
 import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Launcher;
 import io.jenkins.plugins.accuknox.shared.AccuKnoxBaseExecution;
+import io.jenkins.plugins.accuknox.shared.GitTree;
+import io.jenkins.plugins.accuknox.workspace.IgnoreRules;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Execution for {@link SecretScanStep}.
  *
  * Injects SCAN_HISTORY so the scanner knows
- * whether to inspect git commit history.
+ * whether to inspect git commit history. With scanHistory the workspace
+ * snapshot keeps {@code .git/}, which is otherwise excluded.
  */
 public class SecretScanExecution extends AccuKnoxBaseExecution {
 
@@ -29,4 +35,26 @@ public class SecretScanExecution extends AccuKnoxBaseExecution {
                 "-e", "SCAN_HISTORY=" + secretStep.isScanHistory()
         );
     }
+
+    @Override
+    protected List<String> defaultIgnorePatterns(EnvVars envVars) {
+        if (!secretStep.isScanHistory()) {
+            return IgnoreRules.DEFAULTS;
+        }
+        List<String> patterns = new ArrayList<>(IgnoreRules.DEFAULTS);
+        patterns.remove(".git/");
+        return patterns;
+    }
+
+    /** With scanHistory the result also depends on the commits, not only the tree. */
+    @Override
+    protected String coalesceTarget(Launcher launcher, FilePath workspace, String scanPath, EnvVars envVars)
+            throws InterruptedException {
+        String tree = super.coalesceTarget(launcher, workspace, scanPath, envVars);
+        if (tree == null || !secretStep.isScanHistory()) {
+            return tree;
+        }
+        String head = GitTree.head(launcher, workspace);
+        return (head == null) ? null : tree + "@" + head;
+    }
 }
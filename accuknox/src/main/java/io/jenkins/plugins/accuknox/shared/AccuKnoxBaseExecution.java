@@ -4,22 +4,69 @@ import hudson.AbortException;
 import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.Launcher;
+import hudson.Proc;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Run;
 import hudson.model.TaskListener;
+import hudson.remoting.Channel;
+import hudson.remoting.VirtualChannel;
+import io.jenkins.plugins.accuknox.docker.DockerImages;
+import io.jenkins.plugins.accuknox.docker.ImageCache;
+import io.jenkins.plugins.accuknox.docker.ImagePrefetch;
+import io.jenkins.plugins.accuknox.docker.ScanContainers;
+import io.jenkins.plugins.accuknox.docker.ScannerRun;
+import io.jenkins.plugins.accuknox.findings.FindingsTap;
+import io.jenkins.plugins.accuknox.findings.QualityGate;
+import io.jenkins.plugins.accuknox.findings.SeverityCounts;
+import io.jenkins.plugins.accuknox.report.AccuKnoxBuildAction;
+import io.jenkins.plugins.accuknox.report.FindingsDelta;
+import io.jenkins.plugins.accuknox.report.FindingsStore;
+import io.jenkins.plugins.accuknox.report.HistoryRecorder;
+import io.jenkins.plugins.accuknox.report.SarifWriter;
+import io.jenkins.plugins.accuknox.report.ScanArtifacts;
+import io.jenkins.plugins.accuknox.report.ScanHistory;
+import io.jenkins.plugins.accuknox.report.ScanSummary;
+import io.jenkins.plugins.accuknox.report.TrendIndex;
+import io.jenkins.plugins.accuknox.upload.EndpointHealth;
+import io.jenkins.plugins.accuknox.upload.UploadReport;
+import io.jenkins.plugins.accuknox.upload.UploadResultsCallable;
+import io.jenkins.plugins.accuknox.workspace.CopyTransfer;
+import io.jenkins.plugins.accuknox.workspace.IgnoreRules;
+import io.jenkins.plugins.accuknox.workspace.ScanPathExpansion;
+import io.jenkins.plugins.accuknox.workspace.ScanPaths;
+import io.jenkins.plugins.accuknox.workspace.SnapshotStats;
+import io.jenkins.plugins.accuknox.workspace.WorkspaceSnapshot;
+import jenkins.util.Timer;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Generic execution used by scan types that need no extra env vars.
  *
- * Workflow:
- *  1) Resolves user params against EnvVars
- *  2) Builds a docker run command mounting workspace -> /scan
- *  3) Streams output to build log (token redacted)
- *  4) On non-zero exit: fails unless softFail=true
+ * Resolves the step's parameters and scan paths, makes sure the scanner
+ * image is present, then runs the scanner container against the workspace
+ * (bind-mounted, snapshotted or copied in, see {@link CopyTransfer}),
+ * applying the quality gate and time limit to its output as it streams.
+ * Identical concurrent scans are coalesced through {@link ScanCoalescer}.
+ * Results are reported into the build summary, trend index and scan
+ * history ({@link HistoryRecorder}), archived ({@link ScanArtifacts}) and,
+ * with pluginUpload=true, spooled and uploaded from the agent. The step
+ * fails on findings, a gate breach or a timeout unless softFail=true.
  *
  * Scan types that need extra env vars override {@link #extraDockerEnvArgs(EnvVars)}.
  */
@@ -27,8 +74,80 @@ public class AccuKnoxBaseExecution extends SynchronousNonBlockingStepExecution<V
 
     private static final long serialVersionUID = 1L;
 
+    /** Where the scanner writes result files when the plugin owns the upload. */
+    protected static final String RESULTS_MOUNT = "/accuknox/results";
+
+    /** How long the step itself waits for uploads before leaving them to the background. */
+    private static final int UPLOAD_SYNC_SECONDS = 60;
+
+    /** How long a coalesced follower waits for the leader before scanning itself. */
+    private static final long COALESCE_WAIT_MINUTES = 120;
+
+    /** Lines of scanner output kept as the summary shared with coalesced followers. */
+    private static final int LOG_TAIL_LINES = 40;
+
+    /** Seconds between SIGTERM and SIGKILL when the plugin stops a scanner. */
+    private static final int STOP_GRACE_SECONDS = 10;
+
+    /** How long a scan step waits for an accuknoxPrepare prefetch of its image. */
+    private static final long PREFETCH_WAIT_MINUTES = 30;
+
     protected final AccuKnoxBaseStep step;
 
+    /** Identifies this step's scratch dir and container; stable across the execution's lifetime. */
+    private final String scanId = "scan-" + UUID.randomUUID().toString().substring(0, 8);
+
+    /** Name of the scanner container, once started; used by {@link #stop(Throwable)}. */
+    private volatile String containerName;
+
+    /** Docker client environment the container was created with, so {@link #stop(Throwable)} reaches its daemon. */
+    private volatile HashMap<String, String> containerEnv;
+
+    /** Docker arguments computed per run (mounts, env) shared by every command builder. */
+    private transient List<String> pluginDockerArgs;
+
+    /** Workspace-relative paths handed to the scanner, resolved once per run. */
+    private transient List<String> scanPaths;
+
+    /** Whether /scan is mounted read-only for this run (snapshot mode). */
+    private transient boolean readOnlyScanMount;
+
+    /** Whether the workspace is streamed into the container instead of bind-mounted. */
+    private transient boolean copyTransfer;
+
+    /** Whether scanner output goes to a compressed log artifact instead of the console. */
+    private transient boolean logToArtifact;
+
+    /** Artifact path of this step's scanner log, once archived. */
+    private transient String logArtifact;
+
+    /** The running scanner process, so the quality gate can stop it early. */
+    private transient volatile Proc scanner;
+    private transient volatile Launcher scannerLauncher;
+    private transient volatile TaskListener scannerListener;
+
+    /** {@link System#nanoTime()} at which the time limit runs out, once {@link #hasDeadline} is set. */
+    private transient long deadline;
+    private transient boolean hasDeadline;
+
+    /** Set when the time limit, rather than the scanner, ended the scan. */
+    private transient volatile boolean timedOut;
+
+    /** Set once a quality gate breach has actually stopped the running scanner. */
+    private transient volatile boolean gateStopped;
+
+    /** This scan's entry in the job's scan history. */
+    private transient HistoryRecorder history;
+
+    /** Size of what the scanner was given, when a snapshot or transfer measured it. */
+    private transient SnapshotStats scanned;
+
+    /** Shared health of this step's endpoint; {@code null} when the breaker is ignored. */
+    private transient EndpointHealth endpointHealth;
+
+    /** Whether the endpoint is down and results are only spooled, not uploaded now. */
+    private transient boolean offline;
+
     public AccuKnoxBaseExecution(AccuKnoxBaseStep step, StepContext context) {
         super(context);
         this.step = step;
@@ -39,11 +158,15 @@ public class AccuKnoxBaseExecution extends SynchronousNonBlockingStepExecution<V
 
         StepContext ctx = getContext();
 
+        Run<?, ?> run = ctx.get(Run.class);
         TaskListener listener = ctx.get(TaskListener.class);
         FilePath workspace = ctx.get(FilePath.class);
         Launcher launcher = ctx.get(Launcher.class);
         EnvVars envVars = ctx.get(EnvVars.class);
 
+        if (run == null) {
+            throw new AbortException("[AccuKnox] Run not available in StepContext.");
+        }
         if (listener == null) {
             throw new AbortException("[AccuKnox] TaskListener not available in StepContext.");
         }
@@ -56,6 +179,8 @@ public class AccuKnoxBaseExecution extends SynchronousNonBlockingStepExecution<V
         if (envVars == null) {
             envVars = new EnvVars();
         }
+        // every docker command below, including image loads and container cleanup, uses the step's daemon
+        launcher = ScanContainers.withClientEnv(launcher, envVars);
 
         PrintStream log = listener.getLogger();
 
@@ -63,37 +188,721 @@ public class AccuKnoxBaseExecution extends SynchronousNonBlockingStepExecution<V
         String token = envVars.expand(step.getToken());
         String label = envVars.expand(step.getLabel());
         String endpoint = envVars.expand(step.getEndpoint());
-        String scanPath = envVars.expand(step.getScanPath());
+        copyTransfer = CopyTransfer.isSelected(step.getTransferMode(), envVars);
+        logToArtifact = useLogArtifact();
+        String endpointPolicy = endpointPolicy();
 
-        // Workspace path on the agent
-        String wsPath = workspace.getRemote();
+        if (step.isBudget() && step.getTimeoutMinutes() > 0) {
+            startClock(); // the budget covers everything from here on
+        } else if (step.isBudget()) {
+            log.println("[AccuKnox] ⚠  budget=true has no effect without a positive timeoutMinutes.");
+        }
+
+        scanPaths = resolveScanPaths(workspace, envVars, log);
+        String scanPath = String.join(", ", scanPaths);
+
+        history = new HistoryRecorder(run, step.getScanTypeName(), scanPath, log);
 
         printBanner(log, label, endpoint, scanPath);
 
+        if (!"run".equals(endpointPolicy) && endpointDown(endpoint, log)) {
+            if ("skip".equals(endpointPolicy)) {
+                handleEndpointDown(log);
+                return null;
+            }
+            offline = true;
+            log.println("[AccuKnox] Scanning anyway — results stay spooled on the agent and are uploaded once "
+                    + "the endpoint is back.");
+        }
+
+        FilePath scanDir = AccuKnoxPaths.scanDir(workspace, scanId);
+        pluginDockerArgs = new ArrayList<>(ScanContainers.runArgs(run, step.getScanTypeName(), scanId));
+        containerEnv = new HashMap<>(ScanContainers.clientEnv(envVars));
+        containerName = ScanContainers.name(run, step.getScanTypeName(), scanId);
+        Computer computer = workspace.toComputer();
+        String nodeName = computer != null ? computer.getName() : "";
+        ScanContainers.daemonUsed(nodeName, envVars);
+
+        ImagePrefetch.await(nodeName, step.getDockerImage(),
+                Math.min(TimeUnit.MINUTES.toMillis(PREFETCH_WAIT_MINUTES), remainingMillis()), log);
+        ImageCache.ensure(launcher, workspace, AccuKnoxPaths.imageCache(workspace), nodeName,
+                step.getDockerImage(), envVars.get(ImageCache.ENV_CACHE), envVars.get(ImageCache.ENV_ARCHIVES),
+                listener);
+
+        try {
+            beforeScan(run, workspace, launcher, listener, envVars, token, label, endpoint);
+            return runScan(run, workspace, launcher, listener, envVars, scanDir, token, label, endpoint, scanPath);
+        } finally {
+            try {
+                scanDir.deleteRecursive();
+            } catch (IOException e) {
+                log.println("[AccuKnox] ⚠  Could not clean up " + scanDir.getRemote() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Void runScan(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener, EnvVars envVars,
+                         FilePath scanDir, String token, String label, String endpoint, String scanPath)
+            throws IOException, InterruptedException {
+
+        PrintStream log = listener.getLogger();
+
+        String key = step.isCoalesce()
+                ? coalesceKey(launcher, workspace, token, label, endpoint, scanPath, envVars)
+                : null;
+
+        while (key != null) {
+            ScanCoalescer.Ticket ticket = ScanCoalescer.acquire(key, run.getFullDisplayName());
+            if (ticket.isLeader()) {
+                ScanOutcome outcome = null;
+                try {
+                    outcome = executeScan(run, workspace, launcher, listener, envVars, scanDir,
+                            token, label, endpoint, scanPath);
+                } finally {
+                    if (outcome != null) {
+                        ticket.complete(outcome);
+                    } else {
+                        ticket.abandon();
+                    }
+                }
+                return finish(run, outcome, scanPath, log);
+            }
+
+            log.println("[AccuKnox] Identical scan already running in " + ticket.getOwner()
+                    + " — waiting for its result instead of starting another container.");
+            try {
+                long wait = Math.min(TimeUnit.MINUTES.toMillis(COALESCE_WAIT_MINUTES), remainingMillis());
+                ScanOutcome outcome = ticket.await(wait, TimeUnit.MILLISECONDS);
+                outcome.replay(log);
+                File findings = null;
+                try {
+                    findings = FindingsStore.adopt(run, outcome.getFindings(), step.getScanTypeName(), scanId);
+                } catch (IOException e) {
+                    log.println("[AccuKnox] ⚠  Could not copy findings of " + outcome.getLeaderRun() + ": "
+                            + e.getMessage());
+                }
+                ScanArtifacts artifacts = new ScanArtifacts(run, workspace, launcher, listener,
+                        step.getScanTypeName(), step.getSarifFile(), envVars);
+                SarifWriter sarif = findings != null ? artifacts.openSarif() : null;
+                if (sarif != null) {
+                    try {
+                        FindingsStore.read(findings, (f, next) -> {
+                            sarif.accept(f);
+                            return true;
+                        });
+                    } finally {
+                        sarif.close();
+                    }
+                    artifacts.publishSarif(sarif);
+                }
+                return finish(run, outcome, scanPath, log);
+            } catch (ScanCoalescer.LeaderAbandonedException e) {
+                log.println("[AccuKnox] " + e.getMessage() + " — retrying.");
+            } catch (TimeoutException e) {
+                if (remainingMillis() <= 0) {
+                    log.println("[AccuKnox] ⏱ Time budget ran out while waiting for " + ticket.getOwner() + ".");
+                    return finish(run, outOfTime(run), scanPath, log);
+                }
+                log.println("[AccuKnox] Gave up waiting for " + ticket.getOwner() + " after "
+                        + COALESCE_WAIT_MINUTES + " min — running the scan in this build.");
+                break;
+            }
+        }
+
+        ScanOutcome outcome = executeScan(run, workspace, launcher, listener, envVars, scanDir,
+                token, label, endpoint, scanPath);
+        return finish(run, outcome, scanPath, log);
+    }
+
+    /** Runs the scanner container and uploads its results; never fails on findings. */
+    private ScanOutcome executeScan(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener,
+                                    EnvVars envVars, FilePath scanDir, String token, String label,
+                                    String endpoint, String scanPath)
+            throws IOException, InterruptedException {
+
+        PrintStream log = listener.getLogger();
+        String wsPath = workspace.getRemote();
+
+        // in copy mode the transferred tar is already filtered and private to the container
+        if (step.isSnapshot() && !copyTransfer) {
+            FilePath snapshot = scanDir.child("snapshot");
+            SnapshotStats stats = workspace.act(
+                    new WorkspaceSnapshot(snapshot.getRemote(), scanPaths, defaultIgnorePatterns(envVars)));
+            log.println("[AccuKnox] Snapshot : " + stats + " — mounted read-only");
+            scanned = stats;
+            wsPath = snapshot.getRemote();
+            readOnlyScanMount = true;
+        }
+
+        FilePath resultsDir = null;
+        if (pluginUpload()) {
+            resultsDir = scanDir.child("results");
+            resultsDir.mkdirs();
+            if (!copyTransfer) {
+                pluginDockerArgs.addAll(List.of("-v", resultsDir.getRemote() + ":" + RESULTS_MOUNT));
+            }
+            pluginDockerArgs.addAll(List.of(
+                    "-e", "RESULTS_DIR=" + RESULTS_MOUNT,
+                    "-e", "SKIP_UPLOAD=true"
+            ));
+        }
+
+        if (hasDeadline) {
+            long left = remainingMillis();
+            if (left <= 0) {
+                log.println("[AccuKnox] ⏱ Time budget used up before the scanner could start.");
+                return outOfTime(run);
+            }
+            // leave the scanner the grace period to flush before it is stopped
+            long seconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(left) - STOP_GRACE_SECONDS);
+            pluginDockerArgs.addAll(List.of("-e", "SCAN_BUDGET_SECONDS=" + seconds));
+        }
+
         List<String> cmd = buildDockerCommand(wsPath, token, label, endpoint, scanPath, envVars);
 
-        log.println("[AccuKnox] $ " + redact(String.join(" ", cmd), token));
+        if (copyTransfer) {
+            scanned = CopyTransfer.create(cmd, containerName, workspace, launcher, listener, scanPaths,
+                    defaultIgnorePatterns(envVars), envVars, token);
+            cmd = CopyTransfer.startCommand(containerName);
+        } else {
+            log.println("[AccuKnox] $ " + ScanContainers.redact(String.join(" ", cmd), token));
+        }
+
+        QualityGate gate = newQualityGate();
+        FindingsTap tap = new FindingsTap(log, step.getScanTypeName())
+                .addSink(gate)
+                .keepTail(LOG_TAIL_LINES);
+        // in artifact mode the tap only sees findings; the tail arrives separately once the scanner exits
+        FindingsTap summary = logToArtifact
+                ? new FindingsTap(log, step.getScanTypeName()).keepTail(LOG_TAIL_LINES)
+                : null;
+        String logName = "scanner-" + step.getScanTypeName() + "-" + scanId + ".log.gz";
+        FindingsStore.Writer store = null;
+        try {
+            store = FindingsStore.open(run, step.getScanTypeName(), scanId);
+            tap.addSink(store);
+        } catch (IOException e) {
+            log.println("[AccuKnox] ⚠  Could not open findings store: " + e.getMessage());
+        }
+        ScanArtifacts artifacts = new ScanArtifacts(run, workspace, launcher, listener,
+                step.getScanTypeName(), step.getSarifFile(), envVars);
+        SarifWriter sarif = artifacts.openSarif();
+        if (sarif != null) {
+            tap.addSink(sarif);
+        }
+
+        if (scanned == null && scansWorkspace()) {
+            history.measure(workspace, scanPaths); // a bind mount reports no size
+        }
+
+        int exit;
+        long started = System.currentTimeMillis();
+        long elapsed;
+        ScheduledFuture<?> timeout = null;
+        ScheduledFuture<?> slow = null;
+        try {
+            scannerLauncher = launcher;
+            scannerListener = listener;
+            if (step.getTimeoutMinutes() > 0 && !hasDeadline) {
+                startClock();
+            }
+            if (summary != null) {
+                scanner = new Proc.RemoteProc(workspace.actAsync(new ScannerRun(cmd,
+                        scanDir.child("logs").child(logName).getRemote(), step.getLogTailLines(),
+                        step.getScanTypeName(), tap, summary, ScanContainers.clientEnv(envVars))));
+            } else {
+                scanner = launcher.launch()
+                        .cmds(cmd)
+                        .pwd(workspace)
+                        .stdout(tap)
+                        .stderr(listener.getLogger())
+                        .start();
+            }
+            if (gate.isBreached() && !step.isSoftFail()) {
+                stopScanner(true);
+            }
+            timeout = scheduleTimeout(log);
+            slow = history.scheduleSlowWarning(() -> scanner != null, log);
+            exit = scanner.join();
+            if (summary != null) {
+                awaitRemoteOutput(workspace, log, summary);
+            }
+        } finally {
+            elapsed = System.currentTimeMillis() - started;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            if (slow != null) {
+                slow.cancel(false);
+            }
+            scanner = null;
+            tap.close();
+            if (summary != null) {
+                summary.close();
+            }
+            if (store != null) {
+                store.close();
+            }
+            if (sarif != null) {
+                sarif.close();
+            }
+        }
+
+        history.record(started, elapsed, exit, scanned, timedOut, log);
 
-        int exit = launcher.launch()
-                .cmds(cmd)
-                .pwd(workspace)
-                .stdout(listener)
-                .stderr(listener.getLogger())
-                .join();
+        if (copyTransfer) {
+            // docker cp lands the results directory in scanDir as "results", i.e. resultsDir
+            CopyTransfer.finish(containerName, RESULTS_MOUNT, resultsDir != null ? scanDir : null,
+                    launcher, listener, envVars);
+        }
 
         log.println("[AccuKnox] ─────────────────────────────────────────────");
-        log.println("[AccuKnox] Exit code: " + exit);
+        log.println("[AccuKnox] Exit code: " + exit + (timedOut ? " (stopped at the time limit)" : ""));
+        if (gate.getCounts().total() > 0) {
+            log.println("[AccuKnox] Findings : " + gate.getCounts() + (timedOut ? " — partial" : ""));
+        }
+
+        if (sarif != null) {
+            artifacts.publishSarif(sarif);
+        }
+
+        if (summary != null) {
+            logArtifact = artifacts.publishLog(scanDir, logName);
+        }
+
+        if (resultsDir != null) {
+            uploadResults(resultsDir, workspace, token, label, endpoint, log);
+        }
+
+        return new ScanOutcome(run.getFullDisplayName(), exit, gate.getCounts(), gate.getBreach(),
+                summary != null ? summary.getTail() : tap.getTail(), store != null ? store.getFile() : null, timedOut,
+                gateStopped);
+    }
+
+    private Void finish(Run<?, ?> run, ScanOutcome outcome, String scanPath, PrintStream log)
+            throws AbortException {
+        recordResults(run, outcome, scanPath, log);
+        handleGate(outcome.getGateBreach(), outcome.isStoppedEarly(), log);
+        if (outcome.isPartial()) {
+            handleTimeout(log); // the exit code is docker's stop signal, not the scanner's verdict
+        } else {
+            handleExit(outcome.getExitCode(), log);
+        }
+        return null;
+    }
+
+    /**
+     * Hook run once the scanner image is in place, before the scan (or the
+     * wait for an identical one) starts, e.g. to scan a baseline to compare
+     * with. Shares the step's time limit.
+     */
+    protected void beforeScan(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener,
+                              EnvVars envVars, String token, String label, String endpoint)
+            throws IOException, InterruptedException {
+        // nothing by default
+    }
 
-        handleExit(exit, log);
+    /**
+     * How the scan's findings compare with a baseline, for the build
+     * summary; {@code null} when the step has none. Must not fail the step.
+     */
+    protected FindingsDelta compareFindings(ScanOutcome outcome, PrintStream log) {
         return null;
     }
 
+    /** Reports this step into the build-wide summary and the job's trend index. */
+    private void recordResults(Run<?, ?> run, ScanOutcome outcome, String scanPath, PrintStream log) {
+        String sharedFrom = run.getFullDisplayName().equals(outcome.getLeaderRun()) ? null : outcome.getLeaderRun();
+        AccuKnoxBuildAction summary = AccuKnoxBuildAction.of(run);
+        summary.record(new ScanSummary(step.getScanTypeName(), scanPath, outcome.getExitCode(),
+                outcome.getGateBreach(), sharedFrom, outcome.isPartial(), logArtifact,
+                compareFindings(outcome, log), outcome.getCounts()));
+        log.println("[AccuKnox] Build    : " + summary.getScans().size() + " scan(s), " + summary.getTotal()
+                + " finding(s), " + summary.getGateFailures() + " gate failure(s) so far");
+        try {
+            run.save();
+        } catch (IOException e) {
+            log.println("[AccuKnox] ⚠  Could not save the build summary: " + e.getMessage());
+        }
+        try {
+            TrendIndex.append(run, step.getScanTypeName(), outcome.getCounts());
+        } catch (IOException e) {
+            log.println("[AccuKnox] ⚠  Could not update trend index: " + e.getMessage());
+        }
+    }
+
+    // ── Scan paths ────────────────────────────────────────────────────────────
+
+    /**
+     * The paths this run scans: {@code scanPaths} when set, else
+     * {@code scanPath}. Globs are expanded against the workspace, then all
+     * paths are normalised and collapsed to the outermost ones, so that
+     * overlapping entries are scanned once. Scan types that do not read the
+     * workspace keep {@code scanPath} as given.
+     */
+    private List<String> resolveScanPaths(FilePath workspace, EnvVars envVars, PrintStream log)
+            throws IOException, InterruptedException {
+        List<String> requested = new ArrayList<>();
+        for (String p : step.getScanPaths()) {
+            if (p != null && !p.trim().isEmpty()) {
+                requested.add(envVars.expand(p.trim()));
+            }
+        }
+        if (requested.isEmpty()) {
+            requested.add(envVars.expand(step.getScanPath()));
+        }
+        if (!scansWorkspace()) {
+            return List.of(requested.get(0));
+        }
+
+        List<String> found = new ArrayList<>();
+        List<String> globs = new ArrayList<>();
+        for (String p : requested) {
+            String path;
+            try {
+                path = ScanPaths.normalise(p);
+            } catch (IllegalArgumentException e) {
+                throw new AbortException("[AccuKnox] Scan path '" + p + "' " + e.getMessage() + ".");
+            }
+            (ScanPaths.isGlob(path) ? globs : found).add(path);
+        }
+        if (!globs.isEmpty()) {
+            Map<String, List<String>> matches =
+                    workspace.act(new ScanPathExpansion(globs, defaultIgnorePatterns(envVars)));
+            for (String glob : globs) {
+                List<String> m = matches.getOrDefault(glob, List.of());
+                if (m.isEmpty()) {
+                    log.println("[AccuKnox] ⚠  Scan path pattern '" + glob + "' matched nothing.");
+                }
+                found.addAll(m);
+            }
+        }
+        if (found.isEmpty()) {
+            throw new AbortException("[AccuKnox] Nothing to scan: no scan path pattern matched anything in "
+                    + workspace.getRemote() + ".");
+        }
+
+        List<String> paths = ScanPaths.collapse(found);
+        if (paths.size() > ScanPaths.MAX_PATHS) {
+            throw new AbortException("[AccuKnox] " + paths.size() + " scan paths exceed the limit of "
+                    + ScanPaths.MAX_PATHS + " per scan; match directories (a trailing '/') rather than files.");
+        }
+        if (paths.size() < found.size()) {
+            log.println("[AccuKnox] Scan paths: " + found.size() + " given or matched, " + paths.size()
+                    + " after dropping duplicates and nested paths.");
+        }
+        return paths;
+    }
+
+    /**
+     * Whether the scanner reads the workspace, so its size is worth
+     * recording. Scan types whose target is elsewhere (an image, a URL)
+     * return {@code false}.
+     */
+    protected boolean scansWorkspace() {
+        return true;
+    }
+
+    // ── Time limit ────────────────────────────────────────────────────────────
+
+    private void startClock() {
+        deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(step.getTimeoutMinutes());
+        hasDeadline = true;
+    }
+
+    /** Milliseconds left before the time limit, or {@link Long#MAX_VALUE} if none applies yet. */
+    protected final long remainingMillis() {
+        return hasDeadline ? TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Stops the scanner once the time limit is reached. {@code docker stop}
+     * lets it flush within the grace period; should the docker client still
+     * be attached well after that, it is killed so the executor is released.
+     */
+    private ScheduledFuture<?> scheduleTimeout(PrintStream log) {
+        if (!hasDeadline) {
+            return null;
+        }
+        return Timer.get().schedule(() -> {
+            Proc p = scanner;
+            if (p == null) {
+                return null;
+            }
+            timedOut = true;
+            log.println("[AccuKnox] ⏱ Time limit of " + step.getTimeoutMinutes()
+                    + " min reached — stopping the scanner; findings so far are kept.");
+            stopScanner(false);
+            Timer.get().schedule(() -> {
+                if (scanner == p) {
+                    p.kill();
+                }
+                return null;
+            }, 3L * STOP_GRACE_SECONDS, TimeUnit.SECONDS);
+            return null;
+        }, Math.max(0, remainingMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    /** Outcome of a scan whose budget ran out before the scanner produced anything. */
+    private ScanOutcome outOfTime(Run<?, ?> run) {
+        return new ScanOutcome(run.getFullDisplayName(), -1, new SeverityCounts(), null, List.of(), null, true, false);
+    }
+
+    protected void handleTimeout(PrintStream log) throws AbortException {
+        if (step.isSoftFail()) {
+            log.println("[AccuKnox] ⚠  Scan timed out (softFail=true) — build continues with partial results.");
+            return;
+        }
+        throw new AbortException(
+                "[AccuKnox] " + step.getScanTypeName() + " scan TIMED OUT after " + step.getTimeoutMinutes()
+                + " min. Findings above are a partial report; raise timeoutMinutes or set softFail=true."
+        );
+    }
+
+    // ── Endpoint health ───────────────────────────────────────────────────────
+
+    private String endpointPolicy() throws AbortException {
+        String p = step.getOnEndpointDown() == null ? "" : step.getOnEndpointDown().trim().toLowerCase(Locale.ROOT);
+        switch (p) {
+            case "":
+                return "run";
+            case "spool":
+            case "skip":
+            case "run":
+                return p;
+            default:
+                throw new AbortException("[AccuKnox] Unknown onEndpointDown '" + step.getOnEndpointDown()
+                        + "': use spool, skip or run.");
+        }
+    }
+
+    /** Whether the endpoint's circuit is open; probes it if the cached state is stale. */
+    private boolean endpointDown(String endpoint, PrintStream log) throws InterruptedException {
+        try {
+            endpointHealth = EndpointHealth.of(endpoint);
+        } catch (IllegalArgumentException e) {
+            return false; // not a URL we can probe; leave it to the upload to complain
+        }
+        if (endpointHealth.check() == EndpointHealth.State.CLOSED) {
+            return false;
+        }
+        log.println("[AccuKnox] ⚠  Endpoint " + endpoint + " is unavailable (" + endpointHealth.getLastError()
+                + "); next check in " + Util.getTimeSpanString(endpointHealth.getRetryInMillis()) + ".");
+        return true;
+    }
+
+    protected void handleEndpointDown(PrintStream log) throws AbortException {
+        if (step.isSoftFail()) {
+            log.println("[AccuKnox] ⚠  " + step.getScanTypeName()
+                    + " scan skipped while the endpoint is down (softFail=true) — build continues.");
+            return;
+        }
+        throw new AbortException(
+                "[AccuKnox] " + step.getScanTypeName() + " scan SKIPPED: the endpoint is down "
+                + "(onEndpointDown=skip). Use onEndpointDown='spool' to scan and upload later, "
+                + "or set softFail=true to continue."
+        );
+    }
+
+    /** Whether the plugin collects and uploads the scanner's result files (always while the endpoint is down). */
+    private boolean pluginUpload() {
+        return step.isPluginUpload() || offline;
+    }
+
+    // ── Scanner log ───────────────────────────────────────────────────────────
+
+    private boolean useLogArtifact() throws AbortException {
+        String mode = step.getLogMode() == null ? "" : step.getLogMode().trim().toLowerCase(Locale.ROOT);
+        switch (mode) {
+            case "":
+            case "console":
+                return false;
+            case "artifact":
+                return true;
+            default:
+                throw new AbortException("[AccuKnox] Unknown logMode '" + step.getLogMode()
+                        + "': use console or artifact.");
+        }
+    }
+
+    /**
+     * Waits until output the agent sent before the scanner exited has been
+     * written here, then closes the tail it printed. The tail is sent last,
+     * so once it is in, so are all findings.
+     */
+    private void awaitRemoteOutput(FilePath workspace, PrintStream log, FindingsTap summary)
+            throws IOException, InterruptedException {
+        VirtualChannel ch = workspace.getChannel();
+        if (ch instanceof Channel) {
+            ((Channel) ch).syncIO();
+        }
+        summary.flush();
+        if (!summary.getTail().isEmpty()) {
+            log.println("[AccuKnox] ── End of scanner output (last " + summary.getTail().size()
+                    + " lines shown; full log archived) ──");
+        }
+    }
+
+    // ── Coalescing ────────────────────────────────────────────────────────────
+
+    /**
+     * Identity of this scan for coalescing: scan type, scanner image id,
+     * target identity and every parameter that can change the result,
+     * including how the workspace reaches the scanner and the ignore rules
+     * that filter it. {@code null} when any part is unknown, which disables
+     * coalescing.
+     */
+    private String coalesceKey(Launcher launcher, FilePath workspace, String token, String label,
+                               String endpoint, String scanPath, EnvVars envVars) throws InterruptedException {
+        String imageId = DockerImages.id(launcher, workspace, step.getDockerImage());
+        if (imageId == null) {
+            return null;
+        }
+        String target = coalesceTarget(launcher, workspace, scanPath, envVars);
+        if (target == null) {
+            return null;
+        }
+        String ignores;
+        try {
+            // the file may be untracked or modified, so the git tree hash does not cover it
+            FilePath ignoreFile = workspace.child(IgnoreRules.FILE_NAME);
+            ignores = String.join("\n", defaultIgnorePatterns(envVars))
+                    + "\n--\n" + (ignoreFile.exists() ? ignoreFile.readToString() : "");
+        } catch (IOException e) {
+            return null;
+        }
+        return ScanCoalescer.key(
+                step.getScanTypeName(), imageId, target, scanPath, label, endpoint, ScanCoalescer.hash(token),
+                (step.isSnapshot() ? "snapshot" : "live") + " " + (copyTransfer ? "copy" : "mount"),
+                ScanCoalescer.hash(ignores),
+                String.join(" ", extraDockerEnvArgs(envVars)),
+                String.valueOf(pluginUpload()),
+                newQualityGate().describeLimits(),
+                step.getTimeoutMinutes() + (step.isBudget() ? " budget" : ""));
+    }
+
+    /**
+     * Identity of what is being scanned, or {@code null} if it cannot be
+     * determined cheaply. Defaults to the git tree hashes of the scan paths,
+     * see {@link GitTree#hash}; in snapshot and copy mode ignored files the
+     * scanner will not see do not count.
+     */
+    protected String coalesceTarget(Launcher launcher, FilePath workspace, String scanPath, EnvVars envVars)
+            throws InterruptedException {
+        IgnoreRules excluded = null;
+        if (step.isSnapshot() || copyTransfer) {
+            excluded = new IgnoreRules().addAll(defaultIgnorePatterns(envVars));
+            try {
+                FilePath ignoreFile = workspace.child(IgnoreRules.FILE_NAME);
+                if (ignoreFile.exists()) {
+                    excluded.addAll(Arrays.asList(ignoreFile.readToString().split("\\R")));
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        List<String> trees = new ArrayList<>();
+        for (String p : scanPaths) {
+            String tree = GitTree.hash(launcher, workspace, p, excluded);
+            if (tree == null) {
+                return null;
+            }
+            trees.add(tree);
+        }
+        return String.join(" ", trees);
+    }
+
+    private QualityGate newQualityGate() {
+        return new QualityGate(
+                step.getMaxCritical(), step.getMaxHigh(), step.getMaxMedium(), step.getMaxLow(),
+                () -> {
+                    if (!step.isSoftFail()) {
+                        stopScanner(true);
+                    }
+                });
+    }
+
+    /**
+     * Stops the scanner from a timer thread: the breach is detected on the
+     * thread pumping scanner output, which must never wait on the process.
+     * {@code docker stop} gives the scanner a grace period to flush; the
+     * local docker client is only killed if that fails.
+     *
+     * @param gate whether a quality gate breach is the reason
+     */
+    private void stopScanner(boolean gate) {
+        Timer.get().submit(() -> {
+            Proc p = scanner;
+            Launcher l = scannerLauncher;
+            if (p == null || l == null) {
+                return null;
+            }
+            if (gate) {
+                gateStopped = true;
+            }
+            if (ScanContainers.stop(l, containerName, STOP_GRACE_SECONDS, scannerListener) != 0) {
+                p.kill();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Makes {@code name} the container {@link #stop(Throwable)} removes, e.g.
+     * while a sub-class runs a container of its own on the same daemon before
+     * the scan; returns the one tracked so far, to be restored afterwards.
+     */
+    protected final String trackContainer(String name) {
+        String previous = containerName;
+        containerName = name;
+        return previous;
+    }
+
+    /**
+     * Aborting the build interrupts {@link #run()}, which only kills the local
+     * docker client; the container itself is removed explicitly here so the
+     * agent's capacity is returned immediately.
+     */
+    @Override
+    public void stop(Throwable cause) throws Exception {
+        super.stop(cause);
+        String name = containerName;
+        Map<String, String> env = containerEnv;
+        if (name == null) {
+            return;
+        }
+        Timer.get().submit(() -> {
+            Launcher l = getContext().get(Launcher.class);
+            TaskListener tl = getContext().get(TaskListener.class);
+            if (l != null && tl != null) {
+                tl.getLogger().println("[AccuKnox] Step aborted — removing scanner container " + name);
+                ScanContainers.remove(env != null ? ScanContainers.withClientEnv(l, env) : l, name, tl);
+            }
+            return null;
+        });
+    }
+
+    protected void handleGate(String breach, boolean stoppedEarly, PrintStream log) throws AbortException {
+        if (breach == null) {
+            return;
+        }
+        log.println("[AccuKnox] ✖ Quality gate breached: " + breach);
+        if (step.isSoftFail()) {
+            log.println("[AccuKnox] ⚠  Quality gate breached (softFail=true) — build continues.");
+            return;
+        }
+        throw new AbortException(
+                "[AccuKnox] " + step.getScanTypeName() + " quality gate FAILED (" + newQualityGate().describeLimits() + ")."
+                + (stoppedEarly ? " Scanner was stopped early; findings above are a partial report." : "")
+        );
+    }
+
     /**
      * Builds a safe docker command (no cmdAsSingleString quoting issues).
      *
      * Mounts workspace -> /scan.
-     * If scanPath is "." or empty -> runs on /scan.
-     * Else runs on /scan/<scanPath>.
+     * Passes every resolved scan path as an argument: /scan for the whole
+     * workspace, else /scan/<path>.
      */
     protected List<String> buildDockerCommand(
             String wsPath,
@@ -104,23 +913,12 @@ public class AccuKnoxBaseExecution extends SynchronousNonBlockingStepExecution<V
             EnvVars envVars
     ) {
 
-        String targetPathInContainer;
-        if (scanPath == null || scanPath.trim().isEmpty() || ".".equals(scanPath.trim())) {
-            targetPathInContainer = "/scan";
-        } else {
-            // normalize: do not allow absolute paths to escape /scan
-            String cleaned = scanPath.replace("\\", "/");
-            while (cleaned.startsWith("/")) cleaned = cleaned.substring(1);
-            targetPathInContainer = "/scan/" + cleaned;
-        }
-
         List<String> cmd = new ArrayList<>();
         cmd.add("docker");
         cmd.add("run");
         cmd.add("--rm");
 
-        cmd.add("-v");
-        cmd.add(wsPath + ":/scan");
+        cmd.addAll(scanMountArgs(wsPath));
 
         cmd.add("-w");
         cmd.add("/scan");
@@ -134,13 +932,17 @@ public class AccuKnoxBaseExecution extends SynchronousNonBlockingStepExecution<V
         cmd.add("-e");
         cmd.add("ENDPOINT=" + endpoint);
 
+        cmd.addAll(pluginDockerArgs());
+
         // hook for extra env vars
         cmd.addAll(extraDockerEnvArgs(envVars));
 
         cmd.add(step.getDockerImage());
 
-        // pass target path as arg to scanner
-        cmd.add(targetPathInContainer);
+        // pass target paths as args to scanner
+        for (String p : scanPaths) {
+            cmd.add(ScanPaths.inContainer(p));
+        }
 
         return cmd;
     }
@@ -155,6 +957,67 @@ public class AccuKnoxBaseExecution extends SynchronousNonBlockingStepExecution<V
         return List.of();
     }
 
+    /**
+     * Paths excluded from the workspace snapshot before {@code .accuknoxignore}
+     * is applied. Subclasses override to keep what their scanner needs.
+     */
+    protected List<String> defaultIgnorePatterns(EnvVars envVars) {
+        return IgnoreRules.DEFAULTS;
+    }
+
+    /**
+     * {@code -v} arguments binding {@code hostPath} to /scan (read-only in
+     * snapshot mode), or none when the workspace is copied into the container.
+     */
+    protected final List<String> scanMountArgs(String hostPath) {
+        if (copyTransfer) {
+            return List.of();
+        }
+        return List.of("-v", hostPath + ":/scan" + (readOnlyScanMount ? ":ro" : ""));
+    }
+
+    /**
+     * Arguments the plugin itself needs on every scanner container
+     * (result mounts, upload switches, ...). Subclasses that build their own
+     * command must include these.
+     */
+    protected final List<String> pluginDockerArgs() {
+        return (pluginDockerArgs != null) ? pluginDockerArgs : List.of();
+    }
+
+    /**
+     * Spools and uploads the files the scanner wrote to {@link #RESULTS_MOUNT}.
+     * Upload problems never fail the build: batches stay spooled on the agent
+     * and are retried in the background and by later steps.
+     */
+    private void uploadResults(FilePath resultsDir, FilePath workspace,
+                               String token, String label, String endpoint, PrintStream log)
+            throws InterruptedException {
+        try {
+            FilePath spoolRoot = AccuKnoxPaths.agentRoot(workspace).child("spool");
+            // what the budget cannot cover, or a down endpoint would not take, is left to the background uploader
+            int sync = offline ? 0 : (int) Math.max(0, Math.min(UPLOAD_SYNC_SECONDS,
+                    TimeUnit.MILLISECONDS.toSeconds(step.isBudget() ? remainingMillis() : Long.MAX_VALUE)));
+            UploadReport r = resultsDir.act(new UploadResultsCallable(
+                    spoolRoot.getRemote(), endpoint, token, step.getScanTypeName(), label, sync));
+            if (endpointHealth != null) {
+                endpointHealth.record(r);
+            }
+            if (r.getFiles() == 0) {
+                log.println("[AccuKnox] ⚠  The scanner wrote no results to " + RESULTS_MOUNT + " — pluginUpload needs "
+                        + "an image that honours RESULTS_DIR and SKIP_UPLOAD; nothing was uploaded.");
+            }
+            log.println("[AccuKnox] Upload   : " + r.getFiles() + " file(s) in " + r.getBatches() + " batch(es) — "
+                    + r.getSent() + " sent, " + r.getPending() + " spooled, " + r.getRejected() + " rejected");
+            if (r.getLastError() != null) {
+                log.println("[AccuKnox] ⚠  Upload issue: " + r.getLastError()
+                        + (r.getPending() > 0 ? " — remaining batches will be retried in the background." : ""));
+            }
+        } catch (IOException e) {
+            log.println("[AccuKnox] ⚠  Could not spool scan results: " + e.getMessage());
+        }
+    }
+
     protected void handleExit(int exit, PrintStream log) throws AbortException {
         if (exit == 0) {
             log.println("[AccuKnox] ✔ " + step.getScanTypeName() + " scan passed — no blocking findings.");
@@ -179,12 +1042,27 @@ public class AccuKnoxBaseExecution extends SynchronousNonBlockingStepExecution<V
         log.println("[AccuKnox] Endpoint : " + endpoint);
         log.println("[AccuKnox] ScanPath : " + scanPath);
         log.println("[AccuKnox] SoftFail : " + step.isSoftFail());
+        log.println("[AccuKnox] Upload   : " + (step.isPluginUpload() ? "plugin (spooled)" : "scanner"));
+        log.println("[AccuKnox] Transfer : " + (copyTransfer ? "copy (streamed into the container)" : "mount"));
+        if (logToArtifact) {
+            log.println("[AccuKnox] Log      : artifact (console shows findings and the last "
+                    + step.getLogTailLines() + " lines)");
+        }
+        ScanHistory.Estimate eta = history.getEstimate();
+        if (eta != null) {
+            log.println("[AccuKnox] ETA      : ~" + Util.getTimeSpanString(eta.getMedian()) + " (median of "
+                    + eta.getSamples() + " runs, p90 " + Util.getTimeSpanString(eta.getP90())
+                    + (eta.getTimedOut() > 0 ? ", " + eta.getTimedOut() + " timed out" : "") + ")");
+        }
+        if (step.getTimeoutMinutes() > 0) {
+            log.println("[AccuKnox] Timeout  : " + step.getTimeoutMinutes() + " min"
+                    + (step.isBudget() ? " (budget for the whole step)" : " (scanner run)"));
+        }
+        QualityGate gate = newQualityGate();
+        if (gate.isEnabled()) {
+            log.println("[AccuKnox] Gate     : " + gate.describeLimits());
+        }
         log.println("[AccuKnox] ─────────────────────────────────────────────");
     }
 
-    /** Replace raw token value with *** so it never appears in build logs. */
-    private String redact(String cmd, String token) {
-        if (token == null || token.isEmpty()) return cmd;
-        return cmd.replace(token, "***");
-    }
 }
@@ -4,13 +4,29 @@ import org.jenkinsci.plugins.workflow.steps.Step;
 import org.kohsuke.stapler.DataBoundSetter;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Abstract base for all AccuKnox scanner pipeline steps.
  *
- * <p>Every scan type (SAST, DAST, Container, IaC, Secret) shares three
- * mandatory parameters and two optional parameters defined here.
- * Concrete sub-classes only need to declare their own extra fields and
+ * <p>Every scan type (SAST, DAST, Container, IaC, Secret) shares the three
+ * mandatory parameters {@code token}, {@code label} and {@code endpoint},
+ * and the optional ones defined here:</p>
+ * <ul>
+ *   <li>{@code softFail}, {@code scanPath} — whether findings fail the build, what to scan</li>
+ *   <li>{@code pluginUpload} — plugin-side, spooled result upload</li>
+ *   <li>{@code maxCritical}, {@code maxHigh}, {@code maxMedium}, {@code maxLow} — live quality gate</li>
+ *   <li>{@code coalesce} — share one scanner run between identical concurrent scans</li>
+ *   <li>{@code snapshot} — scan a filtered read-only copy of the workspace</li>
+ *   <li>{@code sarifFile} — SARIF report written from the findings stream</li>
+ *   <li>{@code transferMode} — how the workspace reaches the scanner</li>
+ *   <li>{@code timeoutMinutes}, {@code budget} — time limits</li>
+ *   <li>{@code logMode}, {@code logTailLines} — where scanner output goes</li>
+ *   <li>{@code onEndpointDown} — what to do while the endpoint is down</li>
+ *   <li>{@code scanPaths} — several paths in one scanner run</li>
+ * </ul>
+ * <p>Concrete sub-classes only need to declare their own extra fields and
  * implement {@link #getDockerImage()} / {@link #getScanTypeName()}.</p>
  */
 public abstract class AccuKnoxBaseStep extends Step implements Serializable {
@@ -43,6 +59,123 @@ public abstract class AccuKnoxBaseStep extends Step implements Serializable {
      */
     private String scanPath = ".";
 
+    /**
+     * Several workspace-relative paths to analyse in one scanner run, e.g.
+     * {@code ['services/a', 'services/b', 'infra/']}. Entries may be globs in
+     * {@code .gitignore} syntax anchored at the workspace root
+     * ({@code services/*-api/}, {@code modules/**.tf});
+     * duplicates and paths nested in another entry are dropped. Replaces
+     * {@code scanPath} when set.
+     * Default: empty (use {@code scanPath}).
+     */
+    private List<String> scanPaths = new ArrayList<>();
+
+    /**
+     * When {@code true} the plugin, not the scanner container, uploads results
+     * to the ASPM endpoint: output is batched, compressed, spooled on the agent
+     * and retried in the background if the endpoint is slow or down. The
+     * scanner image must support this: it is run with {@code RESULTS_DIR}
+     * set to a directory to write its result files into and
+     * {@code SKIP_UPLOAD=true}, and must not upload itself. An image that
+     * ignores them uploads as usual and leaves nothing for the plugin, which
+     * the step reports as a warning.
+     * Default: {@code false} (scanner uploads directly).
+     */
+    private boolean pluginUpload = false;
+
+    /**
+     * Quality-gate thresholds, evaluated live against the findings stream.
+     * When a count goes over its maximum and softFail is false the scanner is
+     * stopped immediately and the build fails with a partial report.
+     * Default: {@code -1} (no limit).
+     */
+    private int maxCritical = -1;
+    private int maxHigh     = -1;
+    private int maxMedium   = -1;
+    private int maxLow      = -1;
+
+    /**
+     * When {@code true} identical scans running concurrently on this controller
+     * (same scanner image, same target content, same parameters) share one
+     * scanner run instead of each starting a container. Content is compared
+     * by git tree hash, so the scan must be of a clean git checkout.
+     * Default: {@code false}.
+     */
+    private boolean coalesce = false;
+
+    /**
+     * When {@code true} the scanner sees a read-only snapshot of the workspace
+     * containing only files not excluded by the built-in ignore list and the
+     * repository's {@code .accuknoxignore} (gitignore syntax), instead of the
+     * live workspace mounted read-write.
+     * Default: {@code false}.
+     */
+    private boolean snapshot = false;
+
+    /**
+     * Workspace-relative path of a SARIF 2.1 report to write from the
+     * findings stream and archive with the build, e.g. {@code accuknox-sast.sarif}.
+     * Default: empty (no SARIF report).
+     */
+    private String sarifFile = "";
+
+    /**
+     * How the workspace reaches the scanner: {@code mount} bind-mounts it,
+     * {@code copy} streams a filtered, compressed tar of {@code scanPath} into
+     * the container (for remote daemons and dind sidecars, where a bind mount
+     * would be empty), {@code auto} copies when {@code DOCKER_HOST} points to
+     * a non-local daemon.
+     * Default: {@code auto}.
+     */
+    private String transferMode = "auto";
+
+    /**
+     * Minutes the scanner may run. When they run out the scanner is asked to
+     * stop (SIGTERM, then SIGKILL after a grace period), the findings it
+     * produced so far are kept and the result is marked partial; the step
+     * then fails unless {@code softFail=true}.
+     * Default: {@code 0} (no limit).
+     */
+    private int timeoutMinutes = 0;
+
+    /**
+     * With {@code true}, {@code timeoutMinutes} bounds the whole step (image
+     * loading, workspace transfer, waiting for a coalesced scan, the scan and
+     * the upload wait) rather than only the scanner, and the scanner is told
+     * the time it has left through {@code SCAN_BUDGET_SECONDS}. Ignored
+     * unless {@code timeoutMinutes} is positive.
+     * Default: {@code false}.
+     */
+    private boolean budget = false;
+
+    /**
+     * Where the scanner's output goes: {@code console} streams all of it into
+     * the build log; {@code artifact} writes it gzip-compressed to a log file
+     * on the agent, archived with the build and linked from its AccuKnox
+     * page, and puts only findings and the last {@code logTailLines} lines on
+     * the console.
+     * Default: {@code console}.
+     */
+    private String logMode = "console";
+
+    /**
+     * Lines of scanner output shown on the console after the scan when
+     * {@code logMode=artifact}.
+     * Default: {@code 40}.
+     */
+    private int logTailLines = 40;
+
+    /**
+     * What to do while the endpoint's circuit breaker is open, i.e. recent
+     * probes or uploads found it down: {@code run} ignores the breaker and
+     * does not probe; {@code spool} scans anyway but keeps the results
+     * spooled on the agent, to be uploaded once it is back (implies
+     * plugin-side upload for this run); {@code skip} skips the scan straight
+     * away, failing the step unless {@code softFail=true}.
+     * Default: {@code run}.
+     */
+    private String onEndpointDown = "run";
+
     // ── Constructor ───────────────────────────────────────────────────────────
 
     protected AccuKnoxBaseStep(String token, String label, String endpoint) {
@@ -58,6 +191,21 @@ public abstract class AccuKnoxBaseStep extends Step implements Serializable {
     public String  getEndpoint() { return endpoint; }
     public boolean isSoftFail()  { return softFail; }
     public String  getScanPath() { return scanPath; }
+    public List<String> getScanPaths() { return scanPaths; }
+    public boolean isPluginUpload() { return pluginUpload; }
+    public int     getMaxCritical() { return maxCritical; }
+    public int     getMaxHigh()     { return maxHigh; }
+    public int     getMaxMedium()   { return maxMedium; }
+    public int     getMaxLow()      { return maxLow; }
+    public boolean isCoalesce()     { return coalesce; }
+    public boolean isSnapshot()     { return snapshot; }
+    public String  getSarifFile()   { return sarifFile; }
+    public String  getTransferMode() { return transferMode; }
+    public int     getTimeoutMinutes() { return timeoutMinutes; }
+    public boolean isBudget()       { return budget; }
+    public String  getLogMode()     { return logMode; }
+    public int     getLogTailLines() { return logTailLines; }
+    public String  getOnEndpointDown() { return onEndpointDown; }
 
     // ── Setters ───────────────────────────────────────────────────────────────
 
@@ -67,6 +215,53 @@ public abstract class AccuKnoxBaseStep extends Step implements Serializable {
     @DataBoundSetter
     public void setScanPath(String scanPath)  { this.scanPath = scanPath; }
 
+    @DataBoundSetter
+    public void setScanPaths(List<String> scanPaths) {
+        this.scanPaths = scanPaths == null ? new ArrayList<>() : new ArrayList<>(scanPaths);
+    }
+
+    @DataBoundSetter
+    public void setPluginUpload(boolean pluginUpload) { this.pluginUpload = pluginUpload; }
+
+    @DataBoundSetter
+    public void setMaxCritical(int maxCritical) { this.maxCritical = maxCritical; }
+
+    @DataBoundSetter
+    public void setMaxHigh(int maxHigh)         { this.maxHigh = maxHigh; }
+
+    @DataBoundSetter
+    public void setMaxMedium(int maxMedium)     { this.maxMedium = maxMedium; }
+
+    @DataBoundSetter
+    public void setMaxLow(int maxLow)           { this.maxLow = maxLow; }
+
+    @DataBoundSetter
+    public void setCoalesce(boolean coalesce)   { this.coalesce = coalesce; }
+
+    @DataBoundSetter
+    public void setSnapshot(boolean snapshot)   { this.snapshot = snapshot; }
+
+    @DataBoundSetter
+    public void setSarifFile(String sarifFile)  { this.sarifFile = sarifFile; }
+
+    @DataBoundSetter
+    public void setTransferMode(String transferMode) { this.transferMode = transferMode; }
+
+    @DataBoundSetter
+    public void setTimeoutMinutes(int timeoutMinutes) { this.timeoutMinutes = Math.max(0, timeoutMinutes); }
+
+    @DataBoundSetter
+    public void setBudget(boolean budget)       { this.budget = budget; }
+
+    @DataBoundSetter
+    public void setLogMode(String logMode)      { this.logMode = logMode; }
+
+    @DataBoundSetter
+    public void setLogTailLines(int logTailLines) { this.logTailLines = Math.max(0, logTailLines); }
+
+    @DataBoundSetter
+    public void setOnEndpointDown(String onEndpointDown) { this.onEndpointDown = onEndpointDown; }
+
     // ── Abstract ──────────────────────────────────────────────────────────────
 
     /** Fully-qualified Docker image reference for this scan type. */
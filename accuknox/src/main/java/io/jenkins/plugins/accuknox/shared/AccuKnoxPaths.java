@@ -0,0 +1,51 @@
+package io.jenkins.plugins.accuknox.shared;
+
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.slaves.WorkspaceList;
+
+/**
+ * Well-known locations the plugin uses on build agents.
+ *
+ * Per-scan scratch data lives next to the workspace (in its {@code @tmp}
+ * sibling) so it never shows up in the scanned tree, while state that must
+ * outlive a single build (e.g. the upload spool) lives under the agent root.
+ */
+public final class AccuKnoxPaths {
+
+    private static final String DIR_NAME = "accuknox";
+
+    private AccuKnoxPaths() {
+        // utility class
+    }
+
+    /**
+     * Agent-wide plugin directory, {@code <agent root>/accuknox}.
+     * Falls back to the workspace temp dir when the node cannot be resolved.
+     */
+    public static FilePath agentRoot(FilePath workspace) {
+        Computer computer = workspace.toComputer();
+        Node node = (computer != null) ? computer.getNode() : null;
+        FilePath root = (node != null) ? node.getRootPath() : null;
+        if (root != null) {
+            return root.child(DIR_NAME);
+        }
+        return tempRoot(workspace);
+    }
+
+    /** Per-agent cache of scanner image archives, {@code <agent root>/accuknox/images}. */
+    public static FilePath imageCache(FilePath workspace) {
+        return agentRoot(workspace).child("images");
+    }
+
+    /** Scratch directory for a single scan, {@code <workspace>@tmp/accuknox/<scanId>}. */
+    public static FilePath scanDir(FilePath workspace, String scanId) {
+        return tempRoot(workspace).child(scanId);
+    }
+
+    private static FilePath tempRoot(FilePath workspace) {
+        FilePath tmp = WorkspaceList.tempDir(workspace);
+        return (tmp != null) ? tmp.child(DIR_NAME) : workspace.sibling(workspace.getName() + "@tmp").child(DIR_NAME);
+    }
+}
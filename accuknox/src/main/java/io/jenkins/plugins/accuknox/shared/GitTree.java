@@ -0,0 +1,121 @@
+package io.jenkins.plugins.accuknox.shared;
+
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.Util;
+import io.jenkins.plugins.accuknox.workspace.IgnoreRules;
+import io.jenkins.plugins.accuknox.workspace.ScanPaths;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Identifies the content of a scan target by its git tree hash.
+ *
+ * Only a clean target has a usable identity: tracked modifications or
+ * untracked files under {@code scanPath} make {@link #hash} return
+ * {@code null}, so callers fall back to treating the scan as unique.
+ * Files git ignores reach the scanner too, unless the workspace transfer
+ * excludes them; the few that do are hashed into the identity, and an
+ * ignored directory or more than {@link #MAX_IGNORED} files make it
+ * unknown as well.
+ */
+public final class GitTree {
+
+    /** Ignored files hashed into an identity at most. */
+    static final int MAX_IGNORED = 64;
+
+    private GitTree() {
+        // utility class
+    }
+
+    /**
+     * Content identity of {@code scanPath}, or {@code null} if it has none.
+     *
+     * @param excluded what the scanner will not see of the workspace, or
+     *                 {@code null} if it sees all of it
+     */
+    public static String hash(Launcher launcher, FilePath workspace, String scanPath, IgnoreRules excluded)
+            throws InterruptedException {
+        String path;
+        try {
+            path = ScanPaths.normalise(scanPath);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String tree = git(launcher, workspace, "rev-parse", "--verify", "--quiet",
+                ".".equals(path) ? "HEAD^{tree}" : "HEAD:" + path);
+        if (tree == null || tree.isEmpty()) {
+            return null;
+        }
+        String status = git(launcher, workspace, "status", "--porcelain", "--", path);
+        if (status == null || !status.isEmpty()) {
+            return null;
+        }
+        String ignored = git(launcher, workspace, "ls-files", "-z", "--others", "--ignored", "--exclude-standard",
+                "--directory", "--", path);
+        if (ignored == null) {
+            return null;
+        }
+        List<String> files = new ArrayList<>();
+        for (String entry : ignored.split("\0")) {
+            boolean dir = entry.endsWith("/");
+            String rel = dir ? entry.substring(0, entry.length() - 1) : entry;
+            if (rel.isEmpty() || isExcluded(excluded, rel, dir)) {
+                continue;
+            }
+            if (dir || files.size() == MAX_IGNORED) {
+                return null;
+            }
+            files.add(rel);
+        }
+        if (files.isEmpty()) {
+            return tree;
+        }
+        List<String> cmd = new ArrayList<>(List.of("hash-object", "--"));
+        cmd.addAll(files);
+        String blobs = git(launcher, workspace, cmd.toArray(new String[0]));
+        return blobs == null ? null : tree + "+" + Util.getDigestOf(String.join("\n", files) + "\n" + blobs);
+    }
+
+    /** Whether {@code rel} or one of its parent directories is excluded by {@code rules}. */
+    static boolean isExcluded(IgnoreRules rules, String rel, boolean directory) {
+        if (rules == null) {
+            return false;
+        }
+        for (int i = rel.indexOf('/'); i >= 0; i = rel.indexOf('/', i + 1)) {
+            if (rules.isIgnored(rel.substring(0, i), true)) {
+                return true;
+            }
+        }
+        return rules.isIgnored(rel, directory);
+    }
+
+    /** Commit id of {@code HEAD}, or {@code null} outside a git work tree. */
+    public static String head(Launcher launcher, FilePath workspace) throws InterruptedException {
+        String commit = git(launcher, workspace, "rev-parse", "--verify", "--quiet", "HEAD");
+        return (commit == null || commit.isEmpty()) ? null : commit;
+    }
+
+    private static String git(Launcher launcher, FilePath workspace, String... args) throws InterruptedException {
+        String[] cmd = new String[args.length + 1];
+        cmd[0] = "git";
+        System.arraycopy(args, 0, cmd, 1, args.length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            int rc = launcher.launch()
+                    .cmds(cmd)
+                    .pwd(workspace)
+                    .stdout(out)
+                    .stderr(new ByteArrayOutputStream())
+                    .quiet(true)
+                    .join();
+            return rc == 0 ? out.toString(StandardCharsets.UTF_8).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.jenkins.plugins.accuknox.shared;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Controller-wide single-flight registry for identical scans.
+ *
+ * The first execution to {@link #acquire} a key becomes the leader and runs
+ * the scanner; every later execution with the same key gets a follower
+ * ticket and waits for the leader's {@link ScanOutcome}. If the leader
+ * {@link Ticket#abandon() abandons} (aborted, agent lost, docker failure) its
+ * followers are released with {@link LeaderAbandonedException} and race to
+ * become the next leader. A follower that is itself aborted simply stops
+ * waiting; the leader is never affected.
+ */
+public final class ScanCoalescer {
+
+    private static final ConcurrentMap<String, InFlight> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private ScanCoalescer() {
+        // utility class
+    }
+
+    public static Ticket acquire(String key, String owner) {
+        InFlight mine = new InFlight(owner);
+        InFlight existing = IN_FLIGHT.putIfAbsent(key, mine);
+        return (existing == null) ? new Ticket(key, mine, true) : new Ticket(key, existing, false);
+    }
+
+    /**
+     * Key of a scan identified by {@code parts}; parts that must not be kept
+     * in the clear, such as the token, are passed through {@link #hash} first.
+     */
+    public static String key(String... parts) {
+        return hash(String.join("\n", parts));
+    }
+
+    /** Hex SHA-256 of {@code s}; {@code null} hashes like the empty string. */
+    public static String hash(String s) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(
+                    (s == null ? "" : s).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : d) sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class InFlight {
+        final String owner;
+        final CompletableFuture<ScanOutcome> result = new CompletableFuture<>();
+
+        InFlight(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    /** Thrown to followers whose leader gave up without an outcome. */
+    public static final class LeaderAbandonedException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        LeaderAbandonedException(String leader) {
+            super("Leader scan in " + leader + " ended without a result");
+        }
+    }
+
+    public static final class Ticket {
+        private final String key;
+        private final InFlight flight;
+        private final boolean leader;
+
+        private Ticket(String key, InFlight flight, boolean leader) {
+            this.key    = key;
+            this.flight = flight;
+            this.leader = leader;
+        }
+
+        public boolean isLeader() { return leader; }
+
+        /** Build that owns the in-flight scan. */
+        public String getOwner() { return flight.owner; }
+
+        /** Follower only: waits for the leader's outcome. */
+        public ScanOutcome await(long timeout, TimeUnit unit)
+                throws InterruptedException, TimeoutException, LeaderAbandonedException {
+            try {
+                return flight.result.get(timeout, unit);
+            } catch (CancellationException | ExecutionException e) {
+                throw new LeaderAbandonedException(flight.owner);
+            }
+        }
+
+        /** Leader only: publishes the outcome and frees the key. */
+        public void complete(ScanOutcome outcome) {
+            if (leader) {
+                IN_FLIGHT.remove(key, flight);
+                flight.result.complete(outcome);
+            }
+        }
+
+        /** Leader only: frees the key without an outcome; waiting followers retry. */
+        public void abandon() {
+            if (leader) {
+                IN_FLIGHT.remove(key, flight);
+                flight.result.cancel(false);
+            }
+        }
+    }
+}
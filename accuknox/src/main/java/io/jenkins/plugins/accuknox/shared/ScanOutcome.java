@@ -0,0 +1,64 @@
+package io.jenkins.plugins.accuknox.shared;
+
+import io.jenkins.plugins.accuknox.findings.SeverityCounts;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * What a finished scan produced, in a form another build can consume.
+ * Shared with followers by {@link ScanCoalescer}.
+ */
+public final class ScanOutcome {
+
+    private final String leaderRun;
+    private final int exitCode;
+    private final SeverityCounts counts;
+    private final String gateBreach;
+    private final List<String> logTail;
+    private final File findings;
+    private final boolean partial;
+    private final boolean stoppedEarly;
+
+    public ScanOutcome(String leaderRun, int exitCode, SeverityCounts counts, String gateBreach, List<String> logTail,
+                       File findings, boolean partial, boolean stoppedEarly) {
+        this.leaderRun  = leaderRun;
+        this.exitCode   = exitCode;
+        this.counts     = counts;
+        this.gateBreach = gateBreach;
+        this.logTail    = List.copyOf(logTail);
+        this.findings   = findings;
+        this.partial    = partial;
+        this.stoppedEarly = stoppedEarly;
+    }
+
+    /** Display name of the build that actually ran the scanner. */
+    public String         getLeaderRun()  { return leaderRun; }
+    public int            getExitCode()   { return exitCode; }
+    public SeverityCounts getCounts()     { return counts; }
+    public String         getGateBreach() { return gateBreach; }
+    public List<String>   getLogTail()    { return logTail; }
+    /** Leader's findings store file, or {@code null} if it could not be written. */
+    public File           getFindings()   { return findings; }
+    /** Whether the scanner was stopped by the time limit before it finished. */
+    public boolean        isPartial()     { return partial; }
+    /** Whether the quality gate stopped the scanner before it finished. */
+    public boolean        isStoppedEarly() { return stoppedEarly; }
+
+    /** Prints this outcome's summary into a follower's log. */
+    public void replay(PrintStream log) {
+        log.println("[AccuKnox] ── Result of " + leaderRun + " (last " + logTail.size() + " lines) ──");
+        for (String line : logTail) {
+            log.println("[AccuKnox] │ " + line);
+        }
+        log.println("[AccuKnox] ─────────────────────────────────────────────");
+        log.println("[AccuKnox] Exit code: " + exitCode + " (shared from " + leaderRun + ")");
+        if (partial) {
+            log.println("[AccuKnox] ⏱ " + leaderRun + " hit its time limit; the result is partial.");
+        }
+        if (counts.total() > 0) {
+            log.println("[AccuKnox] Findings : " + counts);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Drains a {@link ResultSpool} through an {@link UploadClient}.
+ *
+ * {@link #drain} runs synchronously within a deadline; {@link #submit} keeps
+ * draining on a daemon thread of the agent JVM after the step has returned.
+ * Whatever is still queued when the background window closes stays on disk
+ * and is picked up by the next step that uploads to the same endpoint.
+ */
+final class BackgroundUploader {
+
+    private static final Logger LOGGER = Logger.getLogger(BackgroundUploader.class.getName());
+
+    private static final long RETRY_PAUSE_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "AccuKnox result uploader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Spool directories that already have a background drain scheduled. */
+    private static final Set<String> ACTIVE = ConcurrentHashMap.newKeySet();
+
+    private BackgroundUploader() {
+    }
+
+    static UploadReport drain(ResultSpool spool, UploadClient client, long deadline, UploadReport report)
+            throws IOException, InterruptedException {
+        ReentrantLock lock = spool.lock();
+        long wait = deadline - System.currentTimeMillis();
+        if (wait <= 0 || !lock.tryLock(wait, TimeUnit.MILLISECONDS)) {
+            report.pending = spool.pending().size();
+            return report;
+        }
+        try {
+            for (SpooledBatch batch : spool.pending()) {
+                if (System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+                UploadClient.Result result = client.send(batch);
+                switch (result.getStatus()) {
+                    case SENT:
+                        spool.remove(batch);
+                        report.sent++;
+                        break;
+                    case REJECTED:
+                        spool.reject(batch);
+                        report.rejected++;
+                        report.lastError = result.getDetail();
+                        break;
+                    default:
+                        report.failures++;
+                        report.lastError = result.getDetail();
+                        report.pending = spool.pending().size();
+                        return report;
+                }
+            }
+            report.pending = spool.pending().size();
+            return report;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static void submit(ResultSpool spool, UploadClient client, long deadline) {
+        String key = spool.getDir().getAbsolutePath();
+        if (!ACTIVE.add(key)) {
+            return;
+        }
+        EXECUTOR.execute(() -> {
+            try {
+                while (System.currentTimeMillis() < deadline) {
+                    UploadReport r = drain(spool, client, deadline, new UploadReport());
+                    if (r.pending == 0) {
+                        return;
+                    }
+                    Thread.sleep(RETRY_PAUSE_MS);
+                }
+                LOGGER.log(Level.WARNING, "AccuKnox upload window closed with batches still spooled in {0}", key);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "AccuKnox background upload failed for " + key, e);
+            } finally {
+                ACTIVE.remove(key);
+            }
+        });
+    }
+}
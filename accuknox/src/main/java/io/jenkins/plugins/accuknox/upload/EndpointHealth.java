@@ -0,0 +1,176 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared health of an ASPM endpoint, with a circuit breaker, so that builds
+ * stop discovering an outage one full scan at a time.
+ *
+ * One instance per endpoint URL per JVM (the controller, for scan steps).
+ * The state is fed by
+ * <ul>
+ *   <li>probes: a {@code HEAD} of the endpoint with a short timeout, at most
+ *       once per {@link #PROBE_TTL_MS} while healthy; any answer below 500
+ *       counts as up,</li>
+ *   <li>upload outcomes reported by steps via {@link #record(UploadReport)}.</li>
+ * </ul>
+ * A failed probe, or {@link #FAILURE_THRESHOLD} uploads in a row that failed
+ * transiently, opens the circuit for {@link #OPEN_MS}. Once that has passed,
+ * the next {@link #check()} probes again (half-open): success closes the
+ * circuit, failure re-opens it for twice as long, up to {@link #MAX_OPEN_MS}.
+ * Probes run outside the lock, so {@link #record(UploadReport)} and other
+ * callers never wait on a slow endpoint.
+ * Works against any HTTP server, so a local stub is enough to exercise it.
+ */
+public final class EndpointHealth {
+
+    /** Circuit state as seen by a step about to scan. */
+    public enum State {
+        /** Endpoint believed healthy; upload as usual. */
+        CLOSED,
+        /** Endpoint believed down; don't wait on it. */
+        OPEN
+    }
+
+    static final long PROBE_TTL_MS = TimeUnit.MINUTES.toMillis(1);
+    static final long OPEN_MS = TimeUnit.MINUTES.toMillis(2);
+    static final long MAX_OPEN_MS = TimeUnit.MINUTES.toMillis(15);
+    static final int FAILURE_THRESHOLD = 3;
+
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final ConcurrentMap<String, EndpointHealth> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private final URI endpoint;
+    private final LongSupplier clock;
+
+    // guarded by this
+    private boolean probing;
+    private boolean open;
+    private long openUntil;
+    private long openFor = OPEN_MS;
+    private long lastProbe;
+    private int failures;
+    private String lastError;
+
+    EndpointHealth(URI endpoint) {
+        this(endpoint, System::currentTimeMillis);
+    }
+
+    EndpointHealth(URI endpoint, LongSupplier clock) {
+        this.endpoint = endpoint;
+        this.clock    = clock;
+    }
+
+    /**
+     * The shared health of {@code endpoint}; trailing slashes and the case of
+     * scheme and host do not matter.
+     *
+     * @throws IllegalArgumentException if it is not an absolute http(s) URL
+     */
+    public static EndpointHealth of(String endpoint) {
+        URI uri = URI.create(UploadClient.trimTrailingSlash(endpoint)).normalize();
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!("http".equals(scheme) || "https".equals(scheme)) || uri.getRawAuthority() == null) {
+            throw new IllegalArgumentException("not an http(s) URL: " + endpoint);
+        }
+        String key = scheme + "://" + uri.getRawAuthority().toLowerCase(Locale.ROOT)
+                + (uri.getRawPath() == null ? "" : uri.getRawPath());
+        return ENDPOINTS.computeIfAbsent(key, k -> new EndpointHealth(uri));
+    }
+
+    /**
+     * Current state, probing first if the cached one is stale or the open
+     * period is over. While one caller probes, the others get the last known
+     * state rather than waiting for it.
+     */
+    public State check() throws InterruptedException {
+        synchronized (this) {
+            long now = clock.getAsLong();
+            if (open && now < openUntil) {
+                return State.OPEN;
+            }
+            if (probing || (!open && now - lastProbe < PROBE_TTL_MS)) {
+                return open ? State.OPEN : State.CLOSED;
+            }
+            probing = true;
+        }
+        try {
+            String error = probe();
+            synchronized (this) {
+                lastProbe = clock.getAsLong();
+                if (error == null) {
+                    close();
+                } else {
+                    trip(error, lastProbe);
+                }
+                return open ? State.OPEN : State.CLOSED;
+            }
+        } finally {
+            synchronized (this) {
+                probing = false;
+            }
+        }
+    }
+
+    /** Feeds an upload pass into the breaker. Passes that made no attempt are ignored. */
+    public synchronized void record(UploadReport report) {
+        if (report.getSent() > 0 || report.getRejected() > 0) {
+            close(); // the endpoint answered, even if it refused a batch
+        } else if (report.getFailures() > 0) {
+            failures++;
+            lastError = report.getLastError();
+            if (failures >= FAILURE_THRESHOLD) {
+                trip(lastError, clock.getAsLong());
+            }
+        }
+    }
+
+    /** Milliseconds until the next probe is allowed; 0 when the circuit is closed. */
+    public synchronized long getRetryInMillis() {
+        return open ? Math.max(0, openUntil - clock.getAsLong()) : 0;
+    }
+
+    /** Why the circuit last opened, or {@code null}. */
+    public synchronized String getLastError() {
+        return lastError;
+    }
+
+    private void close() {
+        open = false;
+        failures = 0;
+        openFor = OPEN_MS;
+    }
+
+    private void trip(String error, long now) {
+        // a failed half-open probe backs off further; a fresh outage starts at OPEN_MS
+        openFor = open ? Math.min(MAX_OPEN_MS, openFor * 2) : OPEN_MS;
+        open = true;
+        openUntil = now + openFor;
+        lastError = error;
+    }
+
+    /** {@code null} if the endpoint answered, else what went wrong. */
+    private String probe() throws InterruptedException {
+        try {
+            HttpResponse<Void> rsp = UploadClient.HTTP.send(HttpRequest.newBuilder(endpoint)
+                            .timeout(PROBE_TIMEOUT)
+                            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return rsp.statusCode() < 500 ? null : "HTTP " + rsp.statusCode();
+        } catch (IOException | IllegalArgumentException e) {
+            return e.getMessage() == null ? e.getClass().getSimpleName()
+                    : e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+}
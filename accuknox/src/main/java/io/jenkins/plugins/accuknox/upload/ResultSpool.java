@@ -0,0 +1,181 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk queue of result batches on the agent.
+ *
+ * Scanner output files are packed into multipart bodies of at most
+ * {@code maxBatchBytes} (uncompressed), gzip-compressed and written as
+ * {@code <name>.batch} with a {@code <name>.properties} sidecar. Compression
+ * only saves agent disk; {@link UploadClient} posts the plain body. A batch only
+ * becomes visible to {@link #pending()} once it is completely written, so a
+ * crashed agent never uploads a truncated body. Rejected batches are renamed
+ * to {@code .rejected} and kept for inspection.
+ */
+public final class ResultSpool {
+
+    private static final String BATCH_EXT    = ".batch";
+    private static final String META_EXT     = ".properties";
+    private static final String REJECTED_EXT = ".rejected";
+
+    /** One lock per spool directory so concurrent drains never post the same batch twice. */
+    private static final ConcurrentMap<String, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    private final File dir;
+
+    public ResultSpool(File dir) {
+        this.dir = dir;
+    }
+
+    public File getDir() { return dir; }
+
+    ReentrantLock lock() {
+        return LOCKS.computeIfAbsent(dir.getAbsolutePath(), k -> new ReentrantLock());
+    }
+
+    /** Packs {@code files} into one or more batches; returns the batches written. */
+    public List<SpooledBatch> spool(String dataType, String label, List<File> files, long maxBatchBytes)
+            throws IOException {
+        Files.createDirectories(dir.toPath());
+        List<SpooledBatch> written = new ArrayList<>();
+        List<File> current = new ArrayList<>();
+        long currentBytes = 0;
+        for (File f : files) {
+            long len = f.length();
+            if (!current.isEmpty() && currentBytes + len > maxBatchBytes) {
+                written.add(write(dataType, label, current));
+                current = new ArrayList<>();
+                currentBytes = 0;
+            }
+            current.add(f);
+            currentBytes += len;
+        }
+        if (!current.isEmpty()) {
+            written.add(write(dataType, label, current));
+        }
+        return written;
+    }
+
+    /** Completed batches in creation order. */
+    public List<SpooledBatch> pending() throws IOException {
+        File[] metas = dir.listFiles((d, n) -> n.endsWith(META_EXT));
+        if (metas == null) {
+            return List.of();
+        }
+        Arrays.sort(metas);
+        List<SpooledBatch> out = new ArrayList<>();
+        for (File meta : metas) {
+            String base = meta.getName().substring(0, meta.getName().length() - META_EXT.length());
+            File body = new File(dir, base + BATCH_EXT);
+            if (!body.isFile()) {
+                continue;
+            }
+            Properties p = new Properties();
+            try (InputStream in = Files.newInputStream(meta.toPath())) {
+                p.load(in);
+            }
+            out.add(new SpooledBatch(body, p.getProperty("dataType"), p.getProperty("label"),
+                    p.getProperty("boundary"), length(p.getProperty("length"))));
+        }
+        return out;
+    }
+
+    public void remove(SpooledBatch batch) throws IOException {
+        Files.deleteIfExists(batch.getFile().toPath());
+        Files.deleteIfExists(metaFor(batch).toPath());
+    }
+
+    public void reject(SpooledBatch batch) throws IOException {
+        File target = new File(dir, batch.getFile().getName() + REJECTED_EXT);
+        Files.move(batch.getFile().toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(metaFor(batch).toPath());
+    }
+
+    private File metaFor(SpooledBatch batch) {
+        String name = batch.getFile().getName();
+        return new File(dir, name.substring(0, name.length() - BATCH_EXT.length()) + META_EXT);
+    }
+
+    private SpooledBatch write(String dataType, String label, List<File> files) throws IOException {
+        String base = System.currentTimeMillis() + "-" + UUID.randomUUID();
+        String boundary = "accuknox-" + UUID.randomUUID();
+        File tmp = new File(dir, base + BATCH_EXT + ".tmp");
+        File body = new File(dir, base + BATCH_EXT);
+
+        long length;
+        try (CountingOutputStream out = new CountingOutputStream(
+                new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath()))))) {
+            for (File f : files) {
+                out.write(("--" + boundary + "\r\n"
+                        + "Content-Disposition: form-data; name=\"file\"; filename=\"" + f.getName().replace("\"", "") + "\"\r\n"
+                        + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+                Files.copy(f.toPath(), out);
+                out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+            }
+            out.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+            length = out.count;
+        }
+        Files.move(tmp.toPath(), body.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        // the sidecar is written last: pending() ignores bodies without one
+        Properties p = new Properties();
+        p.setProperty("dataType", dataType);
+        p.setProperty("label", label);
+        p.setProperty("boundary", boundary);
+        p.setProperty("length", Long.toString(length));
+        File metaTmp = new File(dir, base + META_EXT + ".tmp");
+        try (OutputStream out = Files.newOutputStream(metaTmp.toPath())) {
+            p.store(out, null);
+        }
+        Files.move(metaTmp.toPath(), new File(dir, base + META_EXT).toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        return new SpooledBatch(body, dataType, label, boundary, length);
+    }
+
+    private static long length(String v) {
+        try {
+            return v == null ? -1 : Long.parseLong(v.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Counts the uncompressed bytes written. */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
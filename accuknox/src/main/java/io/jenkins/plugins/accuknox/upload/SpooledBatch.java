@@ -0,0 +1,31 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import java.io.File;
+
+/**
+ * A multipart body waiting, gzip-compressed, in the {@link ResultSpool},
+ * plus the metadata needed to post it.
+ */
+public final class SpooledBatch {
+
+    private final File file;
+    private final String dataType;
+    private final String label;
+    private final String boundary;
+    private final long length;
+
+    SpooledBatch(File file, String dataType, String label, String boundary, long length) {
+        this.file     = file;
+        this.dataType = dataType;
+        this.label    = label;
+        this.boundary = boundary;
+        this.length   = length;
+    }
+
+    public File   getFile()     { return file; }
+    public String getDataType() { return dataType; }
+    public String getLabel()    { return label; }
+    public String getBoundary() { return boundary; }
+    /** Size of the uncompressed body, or {@code -1} if unknown (batches spooled by older versions). */
+    public long   getLength()   { return length; }
+}
@@ -0,0 +1,162 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Posts spooled result batches to the AccuKnox ASPM artifact API.
+ *
+ * Batches are gzip-compressed on the agent's disk only: the body is
+ * decompressed while it is sent, as a plain multipart request with a known
+ * length, since the endpoint is not known to accept compressed requests.
+ *
+ * A single {@link HttpClient} is shared per JVM, so connections to the
+ * endpoint are kept alive across batches and across steps. Transient
+ * failures (I/O errors, 408, 429, 5xx) are retried with exponential
+ * backoff and jitter; any other non-2xx status is treated as final.
+ * Result details end up in build logs, so the token is redacted from them.
+ */
+public class UploadClient {
+
+    static final String ARTIFACT_PATH = "/api/v1/artifact/";
+
+    /** Shared with {@link EndpointHealth} probes. */
+    static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .proxy(ProxySelector.getDefault())
+            .build();
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 4;
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofMinutes(2);
+    private static final long INITIAL_BACKOFF_MS = 1_000L;
+    private static final long MAX_BACKOFF_MS = 30_000L;
+
+    private final URI endpoint;
+    private final String token;
+    private final int maxAttempts;
+    private final Duration requestTimeout;
+
+    public UploadClient(String endpoint, String token) {
+        this(URI.create(trimTrailingSlash(endpoint)), token, DEFAULT_MAX_ATTEMPTS, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    public UploadClient(URI endpoint, String token, int maxAttempts, Duration requestTimeout) {
+        this.endpoint       = endpoint;
+        this.token          = token;
+        this.maxAttempts    = Math.max(1, maxAttempts);
+        this.requestTimeout = requestTimeout;
+    }
+
+    /** Outcome of a single {@link #send(SpooledBatch)} call. */
+    public enum Status {
+        /** Accepted by the endpoint; the batch can be dropped from the spool. */
+        SENT,
+        /** Permanently refused (e.g. 400/401/413); retrying will not help. */
+        REJECTED,
+        /** All attempts failed transiently; keep the batch for a later drain. */
+        FAILED
+    }
+
+    public static final class Result {
+        private final Status status;
+        private final String detail;
+
+        Result(Status status, String detail) {
+            this.status = status;
+            this.detail = detail;
+        }
+
+        public Status getStatus() { return status; }
+        public String getDetail() { return detail; }
+    }
+
+    public Result send(SpooledBatch batch) throws InterruptedException {
+        long backoff = INITIAL_BACKOFF_MS;
+        String last = "no attempt made";
+        for (int attempt = 1; ; attempt++) {
+            try {
+                HttpResponse<Void> rsp = HTTP.send(request(batch), HttpResponse.BodyHandlers.discarding());
+                int code = rsp.statusCode();
+                if (code >= 200 && code < 300) {
+                    return new Result(Status.SENT, "HTTP " + code);
+                }
+                last = "HTTP " + code;
+                if (!isRetryable(code)) {
+                    return new Result(Status.REJECTED, last);
+                }
+            } catch (IllegalArgumentException e) {
+                // malformed endpoint or token; the message may quote either
+                return new Result(Status.REJECTED, redact(e.getClass().getSimpleName() + ": " + e.getMessage()));
+            } catch (IOException | UncheckedIOException e) {
+                last = redact(e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+            if (attempt >= maxAttempts) {
+                return new Result(Status.FAILED, last);
+            }
+            Thread.sleep(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    private HttpRequest request(SpooledBatch batch) throws IOException {
+        String query = "?data_type=" + encode(batch.getDataType())
+                + "&label_id=" + encode(batch.getLabel())
+                + "&save_to_s3=true";
+        return HttpRequest.newBuilder(endpoint.resolve(ARTIFACT_PATH + query))
+                .timeout(requestTimeout)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + batch.getBoundary())
+                .POST(body(batch))
+                .build();
+    }
+
+    /** The batch's multipart body, decompressed as it is read. */
+    private static HttpRequest.BodyPublisher body(SpooledBatch batch) throws IOException {
+        Path file = batch.getFile().toPath();
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(file.toString());
+        }
+        HttpRequest.BodyPublisher plain = HttpRequest.BodyPublishers.ofInputStream(() -> {
+            try {
+                return new GZIPInputStream(Files.newInputStream(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return batch.getLength() >= 0 ? HttpRequest.BodyPublishers.fromPublisher(plain, batch.getLength()) : plain;
+    }
+
+    /** {@code s} with the token replaced by {@code ***}. */
+    String redact(String s) {
+        if (s == null || token == null || token.isEmpty()) return s;
+        return s.replace(token, "***");
+    }
+
+    static boolean isRetryable(int code) {
+        return code == 408 || code == 429 || code >= 500;
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s == null ? "" : s, StandardCharsets.UTF_8);
+    }
+
+    static String trimTrailingSlash(String s) {
+        String v = (s == null) ? "" : s.trim();
+        while (v.endsWith("/")) v = v.substring(0, v.length() - 1);
+        return v;
+    }
+}
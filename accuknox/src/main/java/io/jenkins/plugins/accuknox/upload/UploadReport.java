@@ -0,0 +1,31 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import java.io.Serializable;
+
+/** Summary of one spool-and-drain pass, returned from the agent to the step. */
+public final class UploadReport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    int files;
+    int batches;
+    int sent;
+    int rejected;
+    int pending;
+    int failures;
+    String lastError;
+
+    public int    getFiles()     { return files; }
+    public int    getBatches()   { return batches; }
+    public int    getSent()      { return sent; }
+    public int    getRejected()  { return rejected; }
+    public int    getPending()   { return pending; }
+    /** Batches whose attempts all failed transiently (I/O error, 408, 429, 5xx). */
+    public int    getFailures()  { return failures; }
+    public String getLastError() { return lastError; }
+
+    /** {@code true} when nothing was sent and at least one attempt failed. */
+    public boolean isFailed() {
+        return sent == 0 && lastError != null;
+    }
+}
@@ -0,0 +1,122 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs on the agent against a scan's results directory.
+ *
+ * Workflow:
+ *  1) Packs every file the scanner wrote into compressed spool batches
+ *  2) Once every batch is complete on disk, deletes the results directory:
+ *     the spool keeps each batch until the endpoint acknowledges it, and
+ *     keeps rejected ones for inspection
+ *  3) Drains the spool for up to {@code syncSeconds}
+ *  4) Hands anything left over to the agent's background uploader
+ *
+ * A scanner image that ignores {@code RESULTS_DIR} leaves the directory
+ * empty; the report then shows no files, and the step warns about it.
+ *
+ * The spool is keyed by endpoint + token so leftovers are only ever retried
+ * with the credentials they were produced under.
+ */
+public class UploadResultsCallable extends MasterToSlaveFileCallable<UploadReport> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Uncompressed size cap for a single request body. */
+    static final long MAX_BATCH_BYTES = 32L * 1024 * 1024;
+
+    /** How long uploads keep retrying in the background after the step returned. */
+    static final long BACKGROUND_WINDOW_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final String spoolRoot;
+    private final String endpoint;
+    private final String token;
+    private final String dataType;
+    private final String label;
+    private final int syncSeconds;
+
+    public UploadResultsCallable(String spoolRoot, String endpoint, String token,
+                                 String dataType, String label, int syncSeconds) {
+        this.spoolRoot   = spoolRoot;
+        this.endpoint    = endpoint;
+        this.token       = token;
+        this.dataType    = dataType;
+        this.label       = label;
+        this.syncSeconds = syncSeconds;
+    }
+
+    @Override
+    public UploadReport invoke(File resultsDir, VirtualChannel channel) throws IOException, InterruptedException {
+        UploadReport report = new UploadReport();
+        ResultSpool spool = new ResultSpool(new File(spoolRoot, spoolKey(endpoint, token)));
+
+        if (resultsDir.isDirectory()) {
+            List<File> files;
+            try (Stream<Path> walk = Files.walk(resultsDir.toPath())) {
+                files = walk.filter(Files::isRegularFile)
+                        .sorted(Comparator.naturalOrder())
+                        .map(Path::toFile)
+                        .collect(Collectors.toList());
+            }
+            report.files = files.size();
+            List<SpooledBatch> batches = spool.spool(dataType, label, files, MAX_BATCH_BYTES);
+            report.batches = batches.size();
+            Set<File> spooled = new HashSet<>();
+            for (SpooledBatch b : spool.pending()) spooled.add(b.getFile());
+            for (SpooledBatch b : batches) {
+                if (!spooled.contains(b.getFile())) {
+                    throw new IOException("batch " + b.getFile().getName() + " is missing from the spool; "
+                            + "scan results kept in " + resultsDir);
+                }
+            }
+            deleteRecursively(resultsDir.toPath());
+        }
+
+        UploadClient client = new UploadClient(endpoint, token);
+        long now = System.currentTimeMillis();
+        BackgroundUploader.drain(spool, client, now + TimeUnit.SECONDS.toMillis(syncSeconds), report);
+        if (report.pending > 0) {
+            BackgroundUploader.submit(spool, client, now + BACKGROUND_WINDOW_MS);
+        }
+        return report;
+    }
+
+    static String spoolKey(String endpoint, String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] d = md.digest((endpoint + "\n" + token).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                sb.append(String.format("%02x", d[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
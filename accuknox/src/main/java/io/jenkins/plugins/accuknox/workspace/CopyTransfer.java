@@ -0,0 +1,114 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.TaskListener;
+import io.jenkins.plugins.accuknox.docker.CopyFromContainer;
+import io.jenkins.plugins.accuknox.docker.ScanContainers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Copy mode of {@code transferMode}: instead of bind-mounting the workspace,
+ * the scanner container is created, the filtered workspace is streamed into
+ * it with {@link WorkspaceTransfer}, and results are copied back out with
+ * {@link CopyFromContainer} once it has run. Used for docker daemons that
+ * cannot see the agent's filesystem.
+ */
+public final class CopyTransfer {
+
+    private CopyTransfer() {
+        // utility class
+    }
+
+    /** Whether {@code transferMode} selects copy mode for the daemon {@code env} points at. */
+    public static boolean isSelected(String transferMode, Map<String, String> env) throws AbortException {
+        String mode = transferMode == null ? "" : transferMode.trim().toLowerCase(Locale.ROOT);
+        switch (mode) {
+            case "":
+            case "auto":
+                return ScanContainers.isRemoteDaemon(env);
+            case "mount":
+                return false;
+            case "copy":
+                return true;
+            default:
+                throw new AbortException("[AccuKnox] Unknown transferMode '" + transferMode
+                        + "': use auto, mount or copy.");
+        }
+    }
+
+    /**
+     * Turns the {@code docker run} command into {@code docker create} for
+     * container {@code name} and streams the filtered workspace into it.
+     * Start it with {@link #startCommand}; the container is removed by
+     * {@link #finish}, or here if the transfer fails.
+     */
+    public static SnapshotStats create(List<String> runCmd, String name, FilePath workspace, Launcher launcher,
+                                       TaskListener listener, List<String> scanPaths, List<String> ignorePatterns,
+                                       Map<String, String> env, String token)
+            throws IOException, InterruptedException {
+        PrintStream log = listener.getLogger();
+        List<String> create = new ArrayList<>(runCmd);
+        create.set(create.indexOf("run"), "create");
+        create.remove("--rm");
+        log.println("[AccuKnox] $ " + ScanContainers.redact(String.join(" ", create), token));
+
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int rc = launcher.launch()
+                .cmds(create)
+                .pwd(workspace)
+                .stdout(new ByteArrayOutputStream())
+                .stderr(err)
+                .quiet(true)
+                .join();
+        if (rc != 0) {
+            throw new AbortException("[AccuKnox] docker create failed (exit " + rc + "): "
+                    + ScanContainers.redact(err.toString(StandardCharsets.UTF_8).trim(), token));
+        }
+
+        SnapshotStats stats;
+        try {
+            stats = workspace.act(new WorkspaceTransfer(name, scanPaths, ignorePatterns, ScanContainers.clientEnv(env)));
+        } catch (IOException e) {
+            ScanContainers.remove(launcher, name, listener);
+            throw e;
+        }
+        log.println("[AccuKnox] Transfer : " + stats + " → " + name);
+        return stats;
+    }
+
+    /** Starts a container prepared by {@link #create}, attached to its output. */
+    public static List<String> startCommand(String name) {
+        return List.of("docker", "start", "-a", name);
+    }
+
+    /**
+     * Copies the {@code resultsPath} directory out of the container into
+     * {@code target}, as its child of the same name (when {@code target} is
+     * set), then removes the container.
+     */
+    public static void finish(String name, String resultsPath, FilePath target, Launcher launcher,
+                              TaskListener listener, Map<String, String> env)
+            throws IOException, InterruptedException {
+        try {
+            if (target != null) {
+                int rc = target.act(new CopyFromContainer(name, resultsPath, ScanContainers.clientEnv(env)));
+                if (rc != 0) {
+                    listener.getLogger().println("[AccuKnox] ⚠  Could not copy results out of " + name
+                            + " (docker cp exit " + rc + ")");
+                }
+            }
+        } finally {
+            ScanContainers.remove(launcher, name, listener);
+        }
+    }
+}
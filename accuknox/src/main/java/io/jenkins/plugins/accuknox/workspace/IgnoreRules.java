@@ -0,0 +1,150 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Path filter using {@code .gitignore} syntax.
+ *
+ * Supported: comments, {@code !} negation, trailing {@code /} for
+ * directory-only rules, leading or inner {@code /} anchoring to the root,
+ * {@code *}, {@code ?}, {@code [...]} and {@code **}. As in git, the last
+ * matching rule wins, and a file inside an excluded directory cannot be
+ * re-included (callers never descend into excluded directories).
+ *
+ * Paths are relative to the workspace root and use {@code /} separators.
+ */
+public final class IgnoreRules implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Name of the per-repository ignore file, read from the workspace root. */
+    public static final String FILE_NAME = ".accuknoxignore";
+
+    /** VCS metadata, dependency trees and build outputs no scanner needs to walk. */
+    public static final List<String> DEFAULTS = List.of(
+            ".git/",
+            "node_modules/",
+            "bower_components/",
+            "target/",
+            "build/",
+            "dist/",
+            "out/",
+            ".gradle/",
+            ".m2/",
+            ".venv/",
+            "venv/",
+            "__pycache__/",
+            ".tox/",
+            ".terraform/",
+            ".idea/",
+            ".vscode/"
+    );
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    public IgnoreRules add(String line) {
+        Rule r = Rule.parse(line);
+        if (r != null) rules.add(r);
+        return this;
+    }
+
+    public IgnoreRules addAll(Iterable<String> lines) {
+        for (String l : lines) add(l);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    public boolean isIgnored(String relativePath, boolean directory) {
+        boolean ignored = false;
+        for (Rule r : rules) {
+            if ((!r.dirOnly || directory) && r.pattern.matcher(relativePath).matches()) {
+                ignored = !r.negated;
+            }
+        }
+        return ignored;
+    }
+
+    private static final class Rule implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final Pattern pattern;
+        final boolean negated;
+        final boolean dirOnly;
+
+        private Rule(Pattern pattern, boolean negated, boolean dirOnly) {
+            this.pattern = pattern;
+            this.negated = negated;
+            this.dirOnly = dirOnly;
+        }
+
+        static Rule parse(String line) {
+            if (line == null) return null;
+            String p = line.replaceAll("(?<!\\\\)\\s+$", "");
+            if (p.isEmpty() || p.startsWith("#")) return null;
+
+            boolean negated = false;
+            if (p.startsWith("!")) {
+                negated = true;
+                p = p.substring(1);
+            } else if (p.startsWith("\\!") || p.startsWith("\\#")) {
+                p = p.substring(1);
+            }
+
+            boolean dirOnly = p.endsWith("/");
+            while (p.endsWith("/")) p = p.substring(0, p.length() - 1);
+            if (p.isEmpty()) return null;
+
+            boolean anchored = p.contains("/");
+            if (p.startsWith("/")) p = p.substring(1);
+
+            String regex = (anchored ? "" : "(?:.*/)?") + globToRegex(p);
+            return new Rule(Pattern.compile(regex), negated, dirOnly);
+        }
+
+        private static String globToRegex(String glob) {
+            StringBuilder sb = new StringBuilder();
+            int n = glob.length();
+            for (int i = 0; i < n; i++) {
+                char c = glob.charAt(i);
+                if (c == '*') {
+                    boolean doubleStar = i + 1 < n && glob.charAt(i + 1) == '*';
+                    if (doubleStar) {
+                        i++;
+                        if (i + 1 < n && glob.charAt(i + 1) == '/') {
+                            i++;
+                            sb.append("(?:.*/)?");
+                        } else {
+                            sb.append(".*");
+                        }
+                    } else {
+                        sb.append("[^/]*");
+                    }
+                } else if (c == '?') {
+                    sb.append("[^/]");
+                } else if (c == '[') {
+                    int close = glob.indexOf(']', i + 2);
+                    if (close < 0) {
+                        sb.append("\\[");
+                    } else {
+                        String body = glob.substring(i + 1, close);
+                        if (body.startsWith("!")) body = "^" + body.substring(1);
+                        sb.append('[').append(body.replace("\\", "\\\\")).append(']');
+                        i = close;
+                    }
+                } else if (c == '\\' && i + 1 < n) {
+                    sb.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                } else {
+                    sb.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expands scan path globs against the workspace.
+ *
+ * Patterns use {@code .gitignore} syntax anchored at the workspace root
+ * ({@code *}, {@code ?}, {@code [...]}, {@code **}, a trailing {@code /}
+ * for directories only). Only the part of the tree below the pattern's
+ * literal prefix is walked, directories excluded by the ignore rules are
+ * skipped, and a matching directory is not descended into. Runs on the
+ * agent against the workspace root.
+ *
+ * Returns the matches of each pattern, normalised; a pattern that matches
+ * nothing maps to an empty list.
+ */
+public class ScanPathExpansion extends MasterToSlaveFileCallable<Map<String, List<String>>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> patterns;
+    private final List<String> defaultIgnores;
+
+    public ScanPathExpansion(List<String> patterns, List<String> defaultIgnores) {
+        this.patterns       = List.copyOf(patterns);
+        this.defaultIgnores = List.copyOf(defaultIgnores);
+    }
+
+    @Override
+    public Map<String, List<String>> invoke(File workspace, VirtualChannel channel) throws IOException {
+        Path root = workspace.toPath();
+        IgnoreRules ignored = WorkspaceSnapshot.loadRules(root, defaultIgnores);
+        Map<String, List<String>> out = new LinkedHashMap<>();
+        for (String pattern : patterns) {
+            out.put(pattern, expand(root, pattern, ignored));
+        }
+        return out;
+    }
+
+    private static List<String> expand(Path root, String pattern, IgnoreRules ignored) throws IOException {
+        List<String> matches = new ArrayList<>();
+        IgnoreRules glob = new IgnoreRules().add("/" + pattern);
+        Path start = root.resolve(literalPrefix(pattern)).normalize();
+        if (!start.startsWith(root) || !Files.isDirectory(start)) {
+            return matches;
+        }
+
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (Thread.interrupted()) {
+                    throw new IOException("interrupted while expanding scan paths");
+                }
+                if (dir.equals(start)) {
+                    return FileVisitResult.CONTINUE; // named explicitly, even if ignored by default
+                }
+                String rel = WorkspaceSnapshot.relative(root, dir);
+                if (ignored.isIgnored(rel, true)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                if (glob.isIgnored(rel, true)) {
+                    matches.add(rel);
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                String rel = WorkspaceSnapshot.relative(root, file);
+                if (!ignored.isIgnored(rel, false) && glob.isIgnored(rel, false)) {
+                    matches.add(rel);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return matches;
+    }
+
+    /** The directories of {@code pattern} before its first glob segment. */
+    static String literalPrefix(String pattern) {
+        String[] segs = pattern.split("/");
+        List<String> prefix = new ArrayList<>();
+        for (int i = 0; i < segs.length - 1 && !ScanPaths.isGlob(segs[i]); i++) {
+            prefix.add(segs[i]);
+        }
+        return String.join("/", prefix);
+    }
+}
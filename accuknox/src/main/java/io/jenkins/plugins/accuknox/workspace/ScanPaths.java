@@ -0,0 +1,100 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Workspace-relative scan paths as handed to the scanner.
+ *
+ * A path is normalised to {@code /} separators without {@code .} segments
+ * or leading and trailing slashes; the workspace root is {@code "."}. A set
+ * of paths is collapsed to the outermost ones: duplicates and paths below
+ * another path of the set are dropped, and {@code "."} covers everything.
+ */
+public final class ScanPaths {
+
+    /** Upper bound on the paths passed to one scanner run (each one is a command-line argument). */
+    public static final int MAX_PATHS = 200;
+
+    private ScanPaths() {
+        // utility class
+    }
+
+    /**
+     * Normalised form of {@code path}; {@code ".."} segments are resolved.
+     *
+     * @throws IllegalArgumentException if the path leads out of the workspace
+     */
+    public static String normalise(String path) {
+        Deque<String> out = new ArrayDeque<>();
+        String p = path == null ? "" : path.trim().replace('\\', '/');
+        for (String seg : p.split("/")) {
+            if (seg.isEmpty() || ".".equals(seg)) {
+                continue;
+            }
+            if ("..".equals(seg)) {
+                if (out.isEmpty()) {
+                    throw new IllegalArgumentException("leads outside the workspace");
+                }
+                out.removeLast();
+            } else {
+                out.addLast(seg);
+            }
+        }
+        return out.isEmpty() ? "." : String.join("/", out);
+    }
+
+    /** {@code path} resolved against the workspace {@code root}, or {@code null} if it leads outside. */
+    public static Path resolve(Path root, String path) {
+        try {
+            Path p = root.resolve(normalise(path)).normalize();
+            return p.startsWith(root) ? p : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** Whether {@code path} contains glob characters ({@code * ? [}). */
+    public static boolean isGlob(String path) {
+        return path.indexOf('*') >= 0 || path.indexOf('?') >= 0 || path.indexOf('[') >= 0;
+    }
+
+    /** Normalised paths, sorted, without duplicates and without paths nested in another one. */
+    public static List<String> collapse(Collection<String> paths) {
+        // an ancestor is a prefix, so it sorts before everything below it
+        TreeSet<String> sorted = new TreeSet<>(paths);
+        if (sorted.contains(".")) {
+            return List.of(".");
+        }
+        List<String> out = new ArrayList<>();
+        Set<String> kept = new HashSet<>();
+        for (String p : sorted) {
+            if (!isNested(p, kept)) {
+                out.add(p);
+                kept.add(p);
+            }
+        }
+        return out;
+    }
+
+    /** Where {@code path} appears in a container that has the workspace at {@code /scan}. */
+    public static String inContainer(String path) {
+        return ".".equals(path) ? "/scan" : "/scan/" + path;
+    }
+
+    private static boolean isNested(String path, Set<String> ancestors) {
+        for (int i = path.lastIndexOf('/'); i > 0; i = path.lastIndexOf('/', i - 1)) {
+            if (ancestors.contains(path.substring(0, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import java.io.Serializable;
+
+/**
+ * What went into a {@link WorkspaceSnapshot} or {@link WorkspaceTransfer}, or
+ * what a {@link WorkspaceSize} counted; returned from the agent.
+ */
+public final class SnapshotStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    long files;
+    long bytes;
+    long copied;
+    long ignored;
+    long sent;
+
+    /** Files placed in the snapshot. */
+    public long getFiles()   { return files; }
+    /** Total size of those files. */
+    public long getBytes()   { return bytes; }
+    /** Files that had to be copied because hard-linking failed (e.g. cross-device). */
+    public long getCopied()  { return copied; }
+    /** Files and directories skipped by ignore rules (directories count once). */
+    public long getIgnored() { return ignored; }
+    /** Compressed bytes streamed to the daemon by a {@link WorkspaceTransfer}; 0 for snapshots. */
+    public long getSent()    { return sent; }
+
+    @Override
+    public String toString() {
+        return String.format("%,d files (%s), %,d ignored%s%s",
+                files, humanBytes(bytes), ignored, copied > 0 ? String.format(", %,d copied", copied) : "",
+                sent > 0 ? ", " + humanBytes(sent) + " sent" : "");
+    }
+
+    public static String humanBytes(long b) {
+        if (b < 1024) return b + " B";
+        String units = "KMGTPE";
+        int exp = (int) (Math.log(b) / Math.log(1024));
+        return String.format("%.1f %siB", b / Math.pow(1024, exp), units.charAt(exp - 1));
+    }
+}
@@ -0,0 +1,73 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * Counts the files and bytes under the scan paths, without copying
+ * anything. Used to record the size of a bind-mounted scan, where no
+ * snapshot or transfer reports it; the scanner then sees every file, so no
+ * ignore rules apply. Symbolic links are not followed. Runs on the agent
+ * against the workspace root; since it walks the same trees as the
+ * scanner, callers only sample it rather than measure every run.
+ */
+public class WorkspaceSize extends MasterToSlaveFileCallable<SnapshotStats> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> scanPaths;
+
+    public WorkspaceSize(List<String> scanPaths) {
+        this.scanPaths = List.copyOf(scanPaths);
+    }
+
+    @Override
+    public SnapshotStats invoke(File workspace, VirtualChannel channel) throws IOException {
+        Path root = workspace.toPath();
+        SnapshotStats stats = new SnapshotStats();
+
+        for (String scanPath : scanPaths) {
+            Path start = ScanPaths.resolve(root, scanPath);
+            if (start != null && Files.exists(start, LinkOption.NOFOLLOW_LINKS)) {
+                walk(start, stats);
+            }
+        }
+        return stats;
+    }
+
+    private static void walk(Path start, SnapshotStats stats) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (Thread.interrupted()) {
+                    throw new IOException("interrupted while measuring workspace");
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    stats.files++;
+                    stats.bytes += attrs.size();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * Builds a filtered mirror of the workspace for the scanner to read.
+ *
+ * Runs on the agent against the workspace root. Every file under the
+ * scan paths that is not excluded by the ignore rules (defaults plus
+ * {@code .accuknoxignore}) is hard-linked into {@code snapshotDir} at the
+ * same relative location; when hard links are not possible the file is
+ * copied. Excluded directories are never descended into, which is where
+ * most of the saved I/O comes from.
+ *
+ * The snapshot is mounted read-only, so the scanner cannot modify the
+ * workspace. Build steps that replace files in the real workspace do not
+ * affect the snapshot; note that in-place writes to a hard-linked file are
+ * visible through both paths.
+ */
+public class WorkspaceSnapshot extends MasterToSlaveFileCallable<SnapshotStats> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String snapshotDir;
+    private final List<String> scanPaths;
+    private final List<String> defaultIgnores;
+
+    public WorkspaceSnapshot(String snapshotDir, List<String> scanPaths, List<String> defaultIgnores) {
+        this.snapshotDir    = snapshotDir;
+        this.scanPaths      = List.copyOf(scanPaths);
+        this.defaultIgnores = List.copyOf(defaultIgnores);
+    }
+
+    @Override
+    public SnapshotStats invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException {
+        Path root = workspace.toPath();
+        Path target = Path.of(snapshotDir);
+        IgnoreRules rules = loadRules(root, defaultIgnores);
+        SnapshotStats stats = new SnapshotStats();
+
+        Files.createDirectories(target);
+        for (String scanPath : scanPaths) {
+            Path start = ScanPaths.resolve(root, scanPath);
+            if (start != null && Files.exists(start, LinkOption.NOFOLLOW_LINKS)) {
+                // a file named directly has no visited parent to create its directory
+                Files.createDirectories(target.resolve(relative(root, start)).getParent());
+                walk(root, start, target, rules, stats);
+            }
+        }
+        return stats;
+    }
+
+    private static void walk(Path root, Path start, Path target, IgnoreRules rules, SnapshotStats stats)
+            throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (Thread.interrupted()) {
+                    throw new IOException("interrupted while building workspace snapshot");
+                }
+                String rel = relative(root, dir);
+                if (!rel.isEmpty() && rules.isIgnored(rel, true)) {
+                    stats.ignored++;
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.createDirectories(target.resolve(rel));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String rel = relative(root, file);
+                if (rules.isIgnored(rel, false)) {
+                    stats.ignored++;
+                    return FileVisitResult.CONTINUE;
+                }
+                Path dest = target.resolve(rel);
+                if (attrs.isSymbolicLink()) {
+                    Path link = Files.readSymbolicLink(file);
+                    if (!link.isAbsolute()) {
+                        Files.createSymbolicLink(dest, link);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+                if (!attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                try {
+                    Files.createLink(dest, file);
+                } catch (IOException | UnsupportedOperationException e) {
+                    Files.copy(file, dest, StandardCopyOption.COPY_ATTRIBUTES);
+                    stats.copied++;
+                }
+                stats.files++;
+                stats.bytes += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    static IgnoreRules loadRules(Path root, List<String> defaultIgnores) throws IOException {
+        IgnoreRules rules = new IgnoreRules().addAll(defaultIgnores);
+        Path ignoreFile = root.resolve(IgnoreRules.FILE_NAME);
+        if (Files.isRegularFile(ignoreFile)) {
+            rules.addAll(Files.readAllLines(ignoreFile));
+        }
+        return rules;
+    }
+
+    static String relative(Path root, Path p) {
+        return root.relativize(p).toString().replace(File.separatorChar, '/');
+    }
+}
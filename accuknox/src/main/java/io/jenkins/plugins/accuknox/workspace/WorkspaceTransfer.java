@@ -0,0 +1,186 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import hudson.remoting.VirtualChannel;
+import hudson.util.io.Archiver;
+import hudson.util.io.ArchiverFactory;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the filtered workspace into a created (not yet started) scanner
+ * container, for docker daemons that cannot see the agent's filesystem.
+ *
+ * Runs on the agent against the workspace root. The files under
+ * scan paths that pass the same ignore rules as
+ * {@link WorkspaceSnapshot} are written as a gzip-compressed tar, entries
+ * prefixed {@code scan/}, straight into the stdin of
+ * {@code docker cp - <container>:/}. The archive is produced while the
+ * tree is walked; nothing is staged on disk and only the compressor's
+ * buffer is held in memory.
+ */
+public class WorkspaceTransfer extends MasterToSlaveFileCallable<SnapshotStats> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Directory the workspace appears as inside the container. */
+    static final String CONTAINER_ROOT = "scan";
+
+    private final String container;
+    private final List<String> scanPaths;
+    private final List<String> defaultIgnores;
+    private final Map<String, String> dockerEnv;
+
+    public WorkspaceTransfer(String container, List<String> scanPaths, List<String> defaultIgnores,
+                             Map<String, String> dockerEnv) {
+        this.container      = container;
+        this.scanPaths      = List.copyOf(scanPaths);
+        this.defaultIgnores = List.copyOf(defaultIgnores);
+        this.dockerEnv      = Map.copyOf(dockerEnv);
+    }
+
+    @Override
+    public SnapshotStats invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException {
+        Path root = workspace.toPath();
+        IgnoreRules rules = WorkspaceSnapshot.loadRules(root, defaultIgnores);
+        SnapshotStats stats = new SnapshotStats();
+
+        ProcessBuilder pb = new ProcessBuilder("docker", "cp", "-", container + ":/").redirectErrorStream(true);
+        pb.environment().putAll(dockerEnv);
+        Process docker = pb.start();
+        try {
+            CountingOutputStream sent = new CountingOutputStream(
+                    new BufferedOutputStream(docker.getOutputStream(), 64 * 1024));
+            // closing the archiver closes docker's stdin, which ends the copy
+            try {
+                archive(root, scanPaths, rules, sent, stats);
+            } catch (IOException e) {
+                // a broken pipe usually means docker cp failed; its output says why
+                throw new IOException("docker cp into " + container + " failed: " + output(docker, e), e);
+            }
+            stats.sent = sent.count;
+            int rc = docker.waitFor();
+            if (rc != 0) {
+                throw new IOException("docker cp into " + container + " exited " + rc + ": " + output(docker, null));
+            }
+            return stats;
+        } finally {
+            docker.destroy();
+        }
+    }
+
+    /** Writes the scan paths under {@code root} that pass {@code rules} to {@code out}, then closes it. */
+    static void archive(Path root, List<String> scanPaths, IgnoreRules rules, OutputStream out, SnapshotStats stats)
+            throws IOException {
+        try (Archiver tar = ArchiverFactory.TARGZ.create(out)) {
+            tar.visit(root.toFile(), CONTAINER_ROOT);
+            for (String scanPath : scanPaths) {
+                Path start = ScanPaths.resolve(root, scanPath);
+                if (start != null && Files.exists(start, LinkOption.NOFOLLOW_LINKS)) {
+                    walk(root, start, rules, tar, stats);
+                }
+            }
+        }
+    }
+
+    private static void walk(Path root, Path start, IgnoreRules rules, Archiver tar, SnapshotStats stats)
+            throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (Thread.interrupted()) {
+                    throw new IOException("interrupted while streaming workspace");
+                }
+                String rel = WorkspaceSnapshot.relative(root, dir);
+                if (rel.isEmpty()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (rules.isIgnored(rel, true)) {
+                    stats.ignored++;
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                tar.visit(dir.toFile(), CONTAINER_ROOT + "/" + rel);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String rel = WorkspaceSnapshot.relative(root, file);
+                if (rules.isIgnored(rel, false)) {
+                    stats.ignored++;
+                    return FileVisitResult.CONTINUE;
+                }
+                if (attrs.isSymbolicLink()) {
+                    Path link = Files.readSymbolicLink(file);
+                    if (!link.isAbsolute()) {
+                        tar.visitSymlink(file.toFile(), link.toString(), CONTAINER_ROOT + "/" + rel);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+                if (!attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                tar.visit(file.toFile(), CONTAINER_ROOT + "/" + rel);
+                stats.files++;
+                stats.bytes += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /** Whatever docker printed, read once the process has exited or been destroyed. */
+    private static String output(Process docker, IOException cause) throws InterruptedException {
+        if (cause != null) {
+            docker.destroy();
+        }
+        docker.waitFor();
+        try (InputStream in = docker.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            String msg = out.toString(StandardCharsets.UTF_8).trim();
+            return msg.isEmpty() && cause != null ? String.valueOf(cause.getMessage()) : msg;
+        } catch (IOException e) {
+            return String.valueOf(cause != null ? cause.getMessage() : e.getMessage());
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
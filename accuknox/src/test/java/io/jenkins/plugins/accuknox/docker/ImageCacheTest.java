@@ -0,0 +1,142 @@
+package io.jenkins.plugins.accuknox.docker;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ImageCacheTest {
+
+    private static final String IMAGE = "public.ecr.aws/k9v9d5v2/accuknox-aspm-scanner:v0.13.4";
+    private static final String CONFIG = "3f9c2b1a4e5d6c7b8a9f0e1d2c3b4a5f6e7d8c9b0a1f2e3d4c5b6a7f8e9d0c1b";
+    private static final String OTHER  = "0000000000000000000000000000000000000000000000000000000000000001";
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void archiveNameFlattensTheReference() {
+        assertEquals("public.ecr.aws_k9v9d5v2_accuknox-aspm-scanner_v0.13.4", ImageCache.archiveName(IMAGE));
+    }
+
+    @Test
+    public void hashesTheWholeArchive() throws Exception {
+        byte[] tar = tar("layer.tar", new byte[5000], "manifest.json", manifest(CONFIG + ".json", IMAGE));
+        File f = write("image.tar", tar);
+
+        ImageCache.Inspection found = new ImageCache.Inspect(IMAGE).invoke(f, null);
+
+        assertEquals(sha256(tar), found.sha256);
+        assertEquals("sha256:" + CONFIG, found.imageId);
+    }
+
+    @Test
+    public void hashesTheCompressedBytesOfAGzippedArchive() throws Exception {
+        byte[] gz = gzip(tar("manifest.json", manifest("blobs/sha256/" + CONFIG, IMAGE)));
+        File f = write("image.tar.gz", gz);
+
+        ImageCache.Inspection found = new ImageCache.Inspect(IMAGE).invoke(f, null);
+
+        assertEquals(sha256(gz), found.sha256);
+        assertEquals("sha256:" + CONFIG, found.imageId);
+    }
+
+    @Test
+    public void stillHashesWhatIsNotATar() throws Exception {
+        byte[] junk = "not an archive".getBytes(StandardCharsets.UTF_8);
+        File f = write("image.tar", junk);
+
+        ImageCache.Inspection found = new ImageCache.Inspect(IMAGE).invoke(f, null);
+
+        assertEquals(sha256(junk), found.sha256);
+        assertNull(found.imageId);
+    }
+
+    @Test
+    public void picksTheEntryTaggedWithTheReference() {
+        String manifest = "[{\"Config\":\"" + OTHER + ".json\",\"RepoTags\":[\"other:1\"]},"
+                + "{\"Config\":\"" + CONFIG + ".json\",\"RepoTags\":[\"" + IMAGE + "\"]}]";
+        assertEquals("sha256:" + CONFIG, ImageCache.imageId(manifest, IMAGE));
+        assertEquals("sha256:" + OTHER, ImageCache.imageId(manifest, "other:1"));
+    }
+
+    @Test
+    public void fallsBackToTheOnlyEntry() {
+        String manifest = "[{\"Config\":\"" + CONFIG + ".json\",\"RepoTags\":null}]";
+        assertEquals("sha256:" + CONFIG, ImageCache.imageId(manifest, IMAGE));
+    }
+
+    @Test
+    public void doesNotGuessBetweenUntaggedEntries() {
+        String manifest = "[{\"Config\":\"" + OTHER + ".json\",\"RepoTags\":[\"other:1\"]},"
+                + "{\"Config\":\"" + CONFIG + ".json\",\"RepoTags\":[\"other:2\"]}]";
+        assertNull(ImageCache.imageId(manifest, IMAGE));
+        assertNull(ImageCache.imageId("not json", IMAGE));
+    }
+
+    private File write(String name, byte[] content) throws IOException {
+        File f = new File(tmp.getRoot(), name);
+        Files.write(f.toPath(), content);
+        return f;
+    }
+
+    private static String manifest(String config, String tag) {
+        return "[{\"Config\":\"" + config + "\",\"RepoTags\":[\"" + tag + "\"],\"Layers\":[\"layer.tar\"]}]";
+    }
+
+    /** A ustar archive of name/content pairs; contents are {@code byte[]} or {@code String}. */
+    private static byte[] tar(Object... entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < entries.length; i += 2) {
+            byte[] content = entries[i + 1] instanceof byte[]
+                    ? (byte[]) entries[i + 1]
+                    : ((String) entries[i + 1]).getBytes(StandardCharsets.UTF_8);
+            byte[] header = new byte[512];
+            put(header, 0, (String) entries[i]);
+            put(header, 100, "0000644");
+            put(header, 124, String.format("%011o", content.length));
+            put(header, 136, String.format("%011o", 0));
+            header[156] = '0';
+            put(header, 257, "ustar");
+            for (int k = 148; k < 156; k++) header[k] = ' ';
+            int sum = 0;
+            for (byte b : header) sum += b & 0xff;
+            put(header, 148, String.format("%06o", sum));
+            out.write(header);
+            out.write(content);
+            out.write(new byte[(512 - content.length % 512) % 512]);
+        }
+        out.write(new byte[1024]);
+        return out.toByteArray();
+    }
+
+    private static void put(byte[] header, int offset, String value) {
+        byte[] b = value.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(b, 0, header, offset, b.length);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package io.jenkins.plugins.accuknox.findings;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class FindingsParserTest {
+
+    @Test
+    public void parsesAccuKnoxFindingLine() {
+        Finding f = FindingsParser.parse("SAST", "  {\"severity\":\"HIGH\",\"rule_id\":\"java.sqli\","
+                + "\"path\":\"src/Dao.java\",\"line\":42,\"message\":\"SQL injection\"}  ");
+        assertEquals("SAST", f.getScanType());
+        assertEquals(Severity.HIGH, f.getSeverity());
+        assertEquals("java.sqli", f.getRuleId());
+        assertEquals("src/Dao.java", f.getPath());
+        assertEquals(42, f.getLine());
+        assertEquals("SQL injection", f.getMessage());
+    }
+
+    @Test
+    public void acceptsEngineFieldNames() {
+        Finding checkov = FindingsParser.parse("IAC", "{\"severity\":\"moderate\",\"check_id\":\"CKV_AWS_20\","
+                + "\"file_path\":\"/main.tf\",\"start_line\":7,\"name\":\"S3 bucket is public\"}");
+        assertEquals(Severity.MEDIUM, checkov.getSeverity());
+        assertEquals("CKV_AWS_20", checkov.getRuleId());
+        assertEquals("/main.tf", checkov.getPath());
+        assertEquals(7, checkov.getLine());
+        assertEquals("S3 bucket is public", checkov.getMessage());
+
+        Finding trivy = FindingsParser.parse("CONTAINER", "{\"severity\":\"CRITICAL\","
+                + "\"id\":\"CVE-2024-1\",\"target\":\"alpine:3.19\",\"title\":\"openssl\"}");
+        assertEquals(Severity.CRITICAL, trivy.getSeverity());
+        assertEquals("CVE-2024-1", trivy.getRuleId());
+        assertEquals("alpine:3.19", trivy.getPath());
+        assertEquals(0, trivy.getLine());
+        assertEquals("openssl", trivy.getMessage());
+    }
+
+    @Test
+    public void firstNonEmptyKeyWins() {
+        Finding f = FindingsParser.parse("SAST", "{\"severity\":\"low\",\"rule_id\":\"\",\"ruleId\":\"r2\","
+                + "\"line\":0,\"startLine\":3,\"message\":\"m\",\"description\":\"d\"}");
+        assertEquals("r2", f.getRuleId());
+        assertEquals(3, f.getLine());
+        assertEquals("m", f.getMessage());
+        assertEquals("", f.getPath());
+    }
+
+    @Test
+    public void unknownSeverityIsInfo() {
+        assertEquals(Severity.INFO, FindingsParser.parse("DAST", "{\"severity\":\"whatever\"}").getSeverity());
+    }
+
+    @Test
+    public void ignoresOtherLines() {
+        assertNull(FindingsParser.parse("SAST", ""));
+        assertNull(FindingsParser.parse("SAST", "Scanning 120 files..."));
+        assertNull(FindingsParser.parse("SAST", "{\"progress\":50}"));
+        assertNull(FindingsParser.parse("SAST", "[{\"severity\":\"HIGH\"}]"));
+        assertNull(FindingsParser.parse("SAST", "{\"severity\":\"HIGH\""));
+        assertNull(FindingsParser.parse("SAST", "{\"severity\": \"HIGH\", broken}"));
+        assertNull("mentions severity only in a value", FindingsParser.parse("SAST", "{\"msg\":\"\\\"severity\\\"\"}"));
+    }
+
+    @Test
+    public void severitySpellings() {
+        assertEquals(Severity.CRITICAL, Severity.parse("blocker"));
+        assertEquals(Severity.HIGH, Severity.parse(" Error "));
+        assertEquals(Severity.MEDIUM, Severity.parse("WARNING"));
+        assertEquals(Severity.LOW, Severity.parse("minor"));
+        assertEquals(Severity.INFO, Severity.parse("informational"));
+        assertEquals(Severity.INFO, Severity.parse(null));
+    }
+}
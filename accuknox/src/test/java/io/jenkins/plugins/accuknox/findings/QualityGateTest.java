@@ -0,0 +1,74 @@
+package io.jenkins.plugins.accuknox.findings;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class QualityGateTest {
+
+    @Test
+    public void negativeLimitsDisableTheGate() {
+        QualityGate gate = new QualityGate(-1, -1, -1, -1, null);
+        for (int i = 0; i < 100; i++) {
+            gate.accept(finding(Severity.CRITICAL));
+        }
+        assertFalse(gate.isEnabled());
+        assertFalse(gate.isBreached());
+        assertEquals("", gate.describeLimits());
+        assertEquals(100, gate.getCounts().get(Severity.CRITICAL));
+    }
+
+    @Test
+    public void breachesWhenCountExceedsMaximum() {
+        AtomicInteger breaches = new AtomicInteger();
+        QualityGate gate = new QualityGate(-1, 2, -1, -1, breaches::incrementAndGet);
+
+        gate.accept(finding(Severity.HIGH));
+        gate.accept(finding(Severity.HIGH));
+        gate.accept(finding(Severity.CRITICAL));
+        gate.accept(finding(Severity.MEDIUM));
+        assertFalse("at the limit is fine", gate.isBreached());
+        assertNull(gate.getBreach());
+
+        gate.accept(finding(Severity.HIGH));
+        assertTrue(gate.isBreached());
+        assertTrue(gate.getBreach(), gate.getBreach().startsWith("HIGH findings exceed maxHigh=2"));
+        assertEquals(1, breaches.get());
+    }
+
+    @Test
+    public void callbackFiresOnlyOnce() {
+        AtomicInteger breaches = new AtomicInteger();
+        QualityGate gate = new QualityGate(0, 0, -1, -1, breaches::incrementAndGet);
+
+        gate.accept(finding(Severity.CRITICAL));
+        gate.accept(finding(Severity.HIGH));
+        gate.accept(finding(Severity.CRITICAL));
+
+        assertEquals(1, breaches.get());
+        assertTrue(gate.getBreach().startsWith("CRITICAL"));
+        assertEquals(3, gate.getCounts().total());
+    }
+
+    @Test
+    public void zeroMeansNoneAllowed() {
+        QualityGate gate = new QualityGate(0, -1, -1, -1, null);
+        gate.accept(finding(Severity.CRITICAL));
+        assertTrue(gate.isBreached());
+    }
+
+    @Test
+    public void describesConfiguredLimitsInSeverityOrder() {
+        assertEquals("maxCritical=0, maxMedium=5, maxLow=10",
+                new QualityGate(0, -1, 5, 10, null).describeLimits());
+    }
+
+    private static Finding finding(Severity s) {
+        return new Finding("SAST", s, "rule", "src/a.java", 1, "msg");
+    }
+}
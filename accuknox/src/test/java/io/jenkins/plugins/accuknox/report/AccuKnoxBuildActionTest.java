@@ -0,0 +1,77 @@
+package io.jenkins.plugins.accuknox.report;
+
+import hudson.EnvVars;
+import io.jenkins.plugins.accuknox.findings.Severity;
+import io.jenkins.plugins.accuknox.findings.SeverityCounts;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class AccuKnoxBuildActionTest {
+
+    @Test
+    public void countsStepsRecordedConcurrently() throws Exception {
+        AccuKnoxBuildAction a = new AccuKnoxBuildAction();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100; i++) a.record(scan("SAST", null, Severity.HIGH, 2));
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread t : threads) t.join();
+
+        assertEquals(800, a.getScans().size());
+        assertEquals(1600, a.getTotal(Severity.HIGH));
+    }
+
+    @Test
+    public void persistsASnapshotAndRestoresLiveCounters() {
+        AccuKnoxBuildAction a = new AccuKnoxBuildAction();
+        a.record(scan("SAST", null, Severity.CRITICAL, 1));
+        a.record(scan("IAC", "gate", Severity.LOW, 3));
+
+        AccuKnoxBuildAction stored = (AccuKnoxBuildAction) a.writeReplace();
+        assertNotSame(a, stored);
+        AccuKnoxBuildAction loaded = (AccuKnoxBuildAction) stored.readResolve();
+
+        assertEquals(4, loaded.getTotal());
+        assertEquals(2, loaded.getScans().size());
+        assertEquals(1, loaded.getGateFailures());
+        long[] iac = new long[Severity.values().length];
+        iac[Severity.LOW.ordinal()] = 3;
+        assertArrayEquals(iac, loaded.getCounts().get("IAC"));
+
+        loaded.record(scan("SAST", null, Severity.CRITICAL, 1));
+        assertEquals(2, loaded.getTotal(Severity.CRITICAL));
+    }
+
+    @Test
+    public void exportsTotalsToTheEnvironment() {
+        AccuKnoxBuildAction a = new AccuKnoxBuildAction();
+        a.record(scan("SAST", "gate", Severity.MEDIUM, 5));
+        a.record(scan("SECRET", null, Severity.CRITICAL, 1));
+
+        EnvVars env = new EnvVars();
+        a.buildEnvironment(null, env);
+
+        assertEquals("2", env.get("ACCUKNOX_SCANS"));
+        assertEquals("1", env.get("ACCUKNOX_GATE_FAILURES"));
+        assertEquals("0", env.get("ACCUKNOX_PARTIAL_SCANS"));
+        assertEquals("6", env.get("ACCUKNOX_TOTAL"));
+        assertEquals("5", env.get("ACCUKNOX_TOTAL_MEDIUM"));
+        assertEquals("1", env.get("ACCUKNOX_TOTAL_CRITICAL"));
+    }
+
+    private static ScanSummary scan(String type, String breach, Severity s, int n) {
+        SeverityCounts c = new SeverityCounts();
+        for (int i = 0; i < n; i++) c.increment(s);
+        return new ScanSummary(type, ".", 0, breach, null, false, null, null, c);
+    }
+}
@@ -0,0 +1,141 @@
+package io.jenkins.plugins.accuknox.report;
+
+import io.jenkins.plugins.accuknox.findings.Finding;
+import io.jenkins.plugins.accuknox.findings.Severity;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class FindingsQueryTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private File dir;
+    private List<Finding> all;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = tmp.newFolder("accuknox");
+        List<Finding> iac = FindingsStoreTest.findings("IAC", 40);
+        List<Finding> sast = FindingsStoreTest.findings("SAST", FindingsStore.BLOCK_RECORDS + 300);
+        FindingsStoreTest.write(dir, "IAC", "a", iac);
+        FindingsStoreTest.write(dir, "SAST", "b", sast);
+        all = new ArrayList<>(iac);
+        all.addAll(sast);
+    }
+
+    @Test
+    public void pagesCoverEverythingOnce() throws Exception {
+        List<Finding> seen = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            FindingsQuery q = query(null, null, null, "100", cursor);
+            q.validate(dir);
+            List<Finding> page = new ArrayList<>();
+            cursor = q.page(dir, page::add);
+            assertEquals(cursor == null ? (all.size() - 1) % 100 + 1 : 100, page.size());
+            seen.addAll(page);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals((all.size() + 99) / 100, pages);
+        assertEquals(all.size(), seen.size());
+        for (int i = 0; i < all.size(); i++) {
+            FindingsStoreTest.assertFinding(all.get(i), seen.get(i));
+        }
+    }
+
+    @Test
+    public void filtersApplyAcrossPages() throws Exception {
+        List<Finding> expected = new ArrayList<>();
+        for (Finding f : all) {
+            if (f.getScanType().equals("SAST") && f.getSeverity().compareTo(Severity.HIGH) <= 0
+                    && f.getRuleId().equals("rule-3") && f.getPath().startsWith("src/f1")) {
+                expected.add(f);
+            }
+        }
+        assertTrue("spans several pages", expected.size() > 14);
+
+        List<Finding> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            FindingsQuery q = new FindingsQuery("sast", "critical, HIGH", "rule-3", "src/f1", "7", cursor);
+            q.validate(dir);
+            cursor = q.page(dir, seen::add);
+        } while (cursor != null);
+
+        assertEquals(expected.size(), seen.size());
+        for (int i = 0; i < expected.size(); i++) {
+            FindingsStoreTest.assertFinding(expected.get(i), seen.get(i));
+        }
+    }
+
+    @Test
+    public void lastFullPageHasNoCursor() throws Exception {
+        FindingsQuery q = query("IAC", null, null, "40", null);
+        assertNull(q.page(dir, f -> { }));
+        assertNotNull(query("IAC", null, null, "39", null).page(dir, f -> { }));
+    }
+
+    @Test
+    public void limitIsClamped() {
+        assertEquals(FindingsQuery.DEFAULT_LIMIT, query(null, null, null, null, null).limit);
+        assertEquals(FindingsQuery.DEFAULT_LIMIT, query(null, null, null, "x", null).limit);
+        assertEquals(1, query(null, null, null, "0", null).limit);
+        assertEquals(FindingsQuery.MAX_LIMIT, query(null, null, null, "999999", null).limit);
+    }
+
+    @Test
+    public void cursorRoundTrips() {
+        FindingsStore.Position p = new FindingsStore.Position("findings-SAST-b.akf", 1234, 56);
+        FindingsStore.Position q = FindingsQuery.decode(FindingsQuery.encode(p));
+        assertEquals(p.file, q.file);
+        assertEquals(p.offset, q.offset);
+        assertEquals(p.record, q.record);
+    }
+
+    @Test
+    public void malformedCursorsAreRejected() {
+        for (String c : new String[] {"%%%", cursor("a:1"), cursor("a:x:1"), cursor(":4:0"), cursor("a:-1:0"),
+                cursor("a:4:-1")}) {
+            assertThrows(c, IllegalArgumentException.class, () -> query(null, null, null, null, c));
+        }
+    }
+
+    @Test
+    public void tamperedCursorsFailValidation() throws Exception {
+        String next = query(null, null, null, "50", null).page(dir, f -> { });
+        FindingsStore.Position p = FindingsQuery.decode(next);
+
+        for (FindingsStore.Position bad : new FindingsStore.Position[] {
+                new FindingsStore.Position(p.file, p.offset + 8, p.record),
+                new FindingsStore.Position(p.file, p.offset, FindingsStore.BLOCK_RECORDS + 1),
+                new FindingsStore.Position("../../config.xml", p.offset, p.record)}) {
+            FindingsQuery q = query(null, null, null, "50", FindingsQuery.encode(bad));
+            assertThrows(IllegalArgumentException.class, () -> q.validate(dir));
+        }
+    }
+
+    private static FindingsQuery query(String scanType, String severity, String rule, String limit, String cursor) {
+        return new FindingsQuery(scanType, severity, rule, null, limit, cursor);
+    }
+
+    private static String cursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
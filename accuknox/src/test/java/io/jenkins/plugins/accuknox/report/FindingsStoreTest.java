@@ -0,0 +1,174 @@
+package io.jenkins.plugins.accuknox.report;
+
+import io.jenkins.plugins.accuknox.findings.Finding;
+import io.jenkins.plugins.accuknox.findings.Severity;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class FindingsStoreTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void roundTripsAcrossBlocks() throws Exception {
+        File dir = tmp.newFolder("accuknox");
+        List<Finding> written = findings("SAST", 2 * FindingsStore.BLOCK_RECORDS + 452);
+        File file = write(dir, "SAST", "a", written);
+
+        List<Finding> read = new ArrayList<>();
+        FindingsStore.read(file, (f, next) -> read.add(f));
+
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertFinding(written.get(i), read.get(i));
+        }
+        assertEquals("SAST", FindingsStore.scanTypeOf(file));
+    }
+
+    @Test
+    public void resumesFromAnyPosition() throws Exception {
+        File dir = tmp.newFolder("accuknox");
+        List<Finding> written = findings("SAST", FindingsStore.BLOCK_RECORDS + 10);
+        write(dir, "SAST", "a", written);
+        List<FindingsStore.Position> positions = new ArrayList<>();
+        FindingsStore.read(dir, null, FindingsStore.Position.START, (f, next) -> positions.add(next));
+
+        for (int i : new int[] {0, 1, FindingsStore.BLOCK_RECORDS - 1, FindingsStore.BLOCK_RECORDS, written.size() - 1}) {
+            List<Finding> rest = new ArrayList<>();
+            FindingsStore.read(dir, null, positions.get(i), (f, next) -> rest.add(f));
+            assertEquals("after record " + i, written.size() - i - 1, rest.size());
+            if (!rest.isEmpty()) {
+                assertFinding(written.get(i + 1), rest.get(0));
+            }
+        }
+    }
+
+    @Test
+    public void filtersFilesByScanType() throws Exception {
+        File dir = tmp.newFolder("accuknox");
+        write(dir, "SAST", "a", findings("SAST", 3));
+        write(dir, "IAC", "b", findings("IAC", 5));
+
+        List<Finding> iac = new ArrayList<>();
+        FindingsStore.read(dir, "iac", FindingsStore.Position.START, (f, next) -> iac.add(f));
+        List<Finding> all = new ArrayList<>();
+        FindingsStore.read(dir, null, FindingsStore.Position.START, (f, next) -> all.add(f));
+
+        assertEquals(5, iac.size());
+        assertEquals("IAC", iac.get(0).getScanType());
+        assertEquals(8, all.size());
+        assertEquals("IAC", all.get(0).getScanType()); // files in name order
+    }
+
+    @Test
+    public void ignoresTornLastBlock() throws Exception {
+        File dir = tmp.newFolder("accuknox");
+        File file = write(dir, "SAST", "a", findings("SAST", FindingsStore.BLOCK_RECORDS + 10));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        int[] n = {0};
+        FindingsStore.read(file, (f, next) -> {
+            n[0]++;
+            return true;
+        });
+
+        assertEquals(FindingsStore.BLOCK_RECORDS, n[0]);
+    }
+
+    @Test
+    public void acceptsOnlyPositionsAtBlockBoundaries() throws Exception {
+        File dir = tmp.newFolder("accuknox");
+        File file = write(dir, "SAST", "a", findings("SAST", FindingsStore.BLOCK_RECORDS + 10));
+        List<FindingsStore.Position> positions = new ArrayList<>();
+        FindingsStore.read(file, (f, next) -> positions.add(next));
+        FindingsStore.Position first = positions.get(0);
+        FindingsStore.Position second = positions.get(FindingsStore.BLOCK_RECORDS);
+        String name = file.getName();
+
+        FindingsStore.checkPosition(dir, first);
+        FindingsStore.checkPosition(dir, second);
+        FindingsStore.checkPosition(dir, positions.get(positions.size() - 1));
+        FindingsStore.checkPosition(dir, new FindingsStore.Position(name, first.offset, 0));
+
+        assertThrows(IllegalArgumentException.class, () -> FindingsStore.checkPosition(dir,
+                new FindingsStore.Position(name, first.offset + 1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> FindingsStore.checkPosition(dir,
+                new FindingsStore.Position(name, (first.offset + second.offset) / 2, 0)));
+        assertThrows(IllegalArgumentException.class, () -> FindingsStore.checkPosition(dir,
+                new FindingsStore.Position(name, file.length(), 0)));
+        assertThrows(IllegalArgumentException.class, () -> FindingsStore.checkPosition(dir,
+                new FindingsStore.Position(name, 0, 0)));
+        assertThrows(IllegalArgumentException.class, () -> FindingsStore.checkPosition(dir,
+                new FindingsStore.Position(name, second.offset, 11)));
+        assertThrows(IllegalArgumentException.class, () -> FindingsStore.checkPosition(dir,
+                new FindingsStore.Position(name, first.offset, -1)));
+        assertThrows(IllegalArgumentException.class, () -> FindingsStore.checkPosition(dir,
+                new FindingsStore.Position("findings-SAST-zz.akf", first.offset, 0)));
+    }
+
+    @Test
+    public void reportsOutOfRangeIndexesAsCorruptBlock() throws Exception {
+        File dir = tmp.newFolder("accuknox");
+        File file = write(dir, "SAST", "a", findings("SAST", 3));
+        // one record whose severity and rule index point past the end of their tables
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (DeflaterOutputStream d = new DeflaterOutputStream(raw)) {
+            d.write(new byte[] {1, 1, 'x', 99, 5, 0, 0, 7});
+        }
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(ByteBuffer.allocate(8).putInt(raw.size()).putInt(1).array());
+            out.write(raw.toByteArray());
+        }
+
+        List<Finding> read = new ArrayList<>();
+        IOException e = assertThrows(IOException.class, () -> FindingsStore.read(file, (f, next) -> read.add(f)));
+
+        assertEquals(3, read.size());
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Corrupt AccuKnox findings block"));
+    }
+
+    static File write(File dir, String scanType, String scanId, List<Finding> findings) throws Exception {
+        try (FindingsStore.Writer w = FindingsStore.open(dir, scanType, scanId)) {
+            findings.forEach(w::accept);
+            return w.getFile();
+        }
+    }
+
+    /** Findings with repeating rules and paths, varied severities and some non-ASCII text. */
+    static List<Finding> findings(String scanType, int n) {
+        List<Finding> out = new ArrayList<>();
+        Severity[] sev = Severity.values();
+        for (int i = 0; i < n; i++) {
+            out.add(new Finding(scanType, sev[i % sev.length], "rule-" + (i % 7), "src/f" + (i % 13) + ".java",
+                    i, i % 10 == 0 ? "" : "message é中 " + (i % 3)));
+        }
+        return out;
+    }
+
+    static void assertFinding(Finding expected, Finding actual) {
+        assertEquals(expected.getScanType(), actual.getScanType());
+        assertEquals(expected.getSeverity(), actual.getSeverity());
+        assertEquals(expected.getRuleId(), actual.getRuleId());
+        assertEquals(expected.getPath(), actual.getPath());
+        assertEquals(expected.getLine(), actual.getLine());
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+}
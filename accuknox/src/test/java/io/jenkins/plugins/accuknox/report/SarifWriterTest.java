@@ -0,0 +1,120 @@
+package io.jenkins.plugins.accuknox.report;
+
+import io.jenkins.plugins.accuknox.findings.Finding;
+import io.jenkins.plugins.accuknox.findings.Severity;
+import net.sf.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SarifWriterTest {
+
+    @Test
+    public void writesSarif210Document() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SarifWriter w = new SarifWriter(out, "AccuKnox SAST", "SAST")) {
+            w.accept(new Finding("SAST", Severity.MEDIUM, "java.sqli", "src/Dao.java", 42, "SQL \"injection\"\n"));
+            w.accept(new Finding("SAST", Severity.CRITICAL, "java.sqli", "src/Other.java", 7, "SQL injection"));
+            w.accept(new Finding("SAST", Severity.LOW, "", "", 0, ""));
+        }
+
+        Map<?, ?> doc = JSONObject.fromObject(out.toString(StandardCharsets.UTF_8));
+        assertEquals(SarifWriter.SCHEMA, doc.get("$schema"));
+        assertEquals("2.1.0", doc.get("version"));
+        List<?> runs = (List<?>) doc.get("runs");
+        assertEquals(1, runs.size());
+        Map<?, ?> run = (Map<?, ?>) runs.get(0);
+
+        Map<?, ?> driver = map(map(run, "tool"), "driver");
+        assertEquals("AccuKnox SAST", driver.get("name"));
+        List<?> rules = (List<?>) driver.get("rules");
+        assertEquals(2, rules.size());
+        Map<?, ?> sqli = (Map<?, ?>) rules.get(0);
+        assertEquals("java.sqli", sqli.get("id"));
+        assertEquals("SQL \"injection\"\n", map(sqli, "shortDescription").get("text"));
+        assertEquals("rule takes the highest severity seen", "error", map(sqli, "defaultConfiguration").get("level"));
+        assertEquals("9.5", map(sqli, "properties").get("security-severity"));
+        Map<?, ?> fallback = (Map<?, ?>) rules.get(1);
+        assertEquals("SAST", fallback.get("id"));
+        assertNull("no description without a message", fallback.get("shortDescription"));
+
+        List<?> results = (List<?>) run.get("results");
+        assertEquals(3, results.size());
+        Set<Object> ruleIds = new HashSet<>();
+        for (Object r : rules) ruleIds.add(((Map<?, ?>) r).get("id"));
+        for (Object o : results) {
+            Map<?, ?> r = (Map<?, ?>) o;
+            assertTrue(ruleIds.contains(r.get("ruleId")));
+            assertTrue(Set.of("error", "warning", "note").contains(r.get("level")));
+            assertFalse(((String) map(r, "message").get("text")).isEmpty());
+            assertEquals(16, ((String) map(r, "partialFingerprints").get(SarifWriter.FINGERPRINT)).length());
+        }
+
+        Map<?, ?> first = (Map<?, ?>) results.get(0);
+        assertEquals("warning", first.get("level"));
+        assertEquals("SQL \"injection\"\n", map(first, "message").get("text"));
+        Map<?, ?> location = map((Map<?, ?>) ((List<?>) first.get("locations")).get(0), "physicalLocation");
+        assertEquals("src/Dao.java", map(location, "artifactLocation").get("uri"));
+        assertEquals(42, ((Number) map(location, "region").get("startLine")).intValue());
+        assertEquals("MEDIUM", map(first, "properties").get("severity"));
+
+        Map<?, ?> bare = (Map<?, ?>) results.get(2);
+        assertEquals("SAST", map(bare, "message").get("text"));
+        assertNull(bare.get("locations"));
+    }
+
+    @Test
+    public void dropsDuplicateResults() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SarifWriter w = new SarifWriter(out, "AccuKnox IaC", "IAC");
+        Finding f = new Finding("IAC", Severity.HIGH, "CKV_1", "main.tf", 3, "m");
+        w.accept(f);
+        w.accept(new Finding("IAC", Severity.HIGH, "CKV_1", "main.tf", 3, "m"));
+        w.accept(new Finding("IAC", Severity.HIGH, "CKV_1", "main.tf", 4, "m"));
+        w.close();
+
+        assertEquals(2, w.getResults());
+        assertEquals(1, w.getDuplicates());
+        assertEquals(1, w.getRules());
+        assertFalse(w.isFailed());
+        Map<?, ?> run = (Map<?, ?>) ((List<?>) JSONObject.fromObject(out.toString(StandardCharsets.UTF_8))
+                .get("runs")).get(0);
+        assertEquals(2, ((List<?>) run.get("results")).size());
+    }
+
+    @Test
+    public void emptyReportIsValid() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SarifWriter(out, "AccuKnox DAST", "DAST").close();
+
+        Map<?, ?> run = (Map<?, ?>) ((List<?>) JSONObject.fromObject(out.toString(StandardCharsets.UTF_8))
+                .get("runs")).get(0);
+        assertTrue(((List<?>) run.get("results")).isEmpty());
+        assertTrue(((List<?>) map(map(run, "tool"), "driver").get("rules")).isEmpty());
+    }
+
+    @Test
+    public void longSetGrowsAndKeepsMembers() {
+        SarifWriter.LongSet set = new SarifWriter.LongSet();
+        for (long v = -2_500; v < 2_500; v++) {
+            assertTrue(set.add(v * 0x9E3779B97F4A7C15L));
+        }
+        for (long v = -2_500; v < 2_500; v++) {
+            assertFalse(set.add(v * 0x9E3779B97F4A7C15L));
+        }
+    }
+
+    private static Map<?, ?> map(Map<?, ?> m, String key) {
+        return (Map<?, ?>) m.get(key);
+    }
+}
@@ -0,0 +1,90 @@
+package io.jenkins.plugins.accuknox.report;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ScanHistoryTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void returnsNewestFirstPerKey() throws Exception {
+        File f = history();
+        ScanHistory.record(f, "SAST", ".", sample(1, 1_000));
+        ScanHistory.record(f, "IAC", ".", sample(2, 5_000));
+        ScanHistory.record(f, "sast", "./", sample(3, 2_000));
+
+        List<ScanHistory.Sample> s = ScanHistory.samples(f, "SAST", "", 10);
+
+        assertEquals(2, s.size());
+        assertEquals(3, s.get(0).getBuild());
+        assertEquals(1, s.get(1).getBuild());
+        assertEquals(2_000, s.get(0).getDuration());
+    }
+
+    @Test
+    public void ringWrapsAtCapacity() throws Exception {
+        File f = history();
+        int total = ScanHistory.CAPACITY + 10;
+        for (int build = 1; build <= total; build++) {
+            ScanHistory.record(f, "SAST", ".", sample(build, build));
+        }
+
+        assertEquals(16 + (long) ScanHistory.CAPACITY * ScanHistory.RECORD, f.length());
+        List<ScanHistory.Sample> s = ScanHistory.samples(f, "SAST", ".", Integer.MAX_VALUE);
+        assertEquals(ScanHistory.CAPACITY, s.size());
+        assertEquals(total, s.get(0).getBuild());
+        assertEquals(total - 1, s.get(1).getBuild());
+        assertEquals("oldest survivor", total - ScanHistory.CAPACITY + 1, s.get(s.size() - 1).getBuild());
+    }
+
+    @Test
+    public void estimateSkipsPartialRuns() throws Exception {
+        File f = history();
+        ScanHistory.record(f, "SAST", ".", sample(1, 10_000));
+        ScanHistory.record(f, "SAST", ".", sample(2, 20_000));
+        ScanHistory.record(f, "SAST", ".", sample(3, 30_000));
+        ScanHistory.record(f, "SAST", ".", new ScanHistory.Sample(4, 0, 99_000, 143, -1, -1, true));
+
+        ScanHistory.Estimate e = ScanHistory.estimate(f, "SAST", ".");
+
+        assertEquals(3, e.getSamples());
+        assertEquals(1, e.getTimedOut());
+        assertEquals(20_000, e.getMedian());
+        assertEquals(30_000, e.getMax());
+        assertEquals(200, e.getMedianFiles());
+        assertNull(ScanHistory.estimate(f, "DAST", "."));
+    }
+
+    @Test
+    public void foreignFileIsStartedOver() throws Exception {
+        File f = history();
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+            raf.write(new byte[64]);
+        }
+        assertTrue(ScanHistory.samples(f, "SAST", ".", 10).isEmpty());
+
+        ScanHistory.record(f, "SAST", ".", sample(1, 1_000));
+
+        assertEquals(1, ScanHistory.samples(f, "SAST", ".", 10).size());
+        assertEquals(16 + ScanHistory.RECORD, f.length());
+    }
+
+    private File history() {
+        return new File(tmp.getRoot(), ScanHistory.FILE_NAME);
+    }
+
+    private static ScanHistory.Sample sample(int build, long duration) {
+        return new ScanHistory.Sample(build, build * 1_000L, duration, 0, build * 100L, build * 1_000_000L, false);
+    }
+}
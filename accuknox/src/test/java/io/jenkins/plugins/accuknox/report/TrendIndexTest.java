@@ -0,0 +1,100 @@
+package io.jenkins.plugins.accuknox.report;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TrendIndexTest {
+
+    private static final IntPredicate ALL = n -> true;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void tailSumsScanTypesOfTheNewestBuilds() throws Exception {
+        File f = new File(tmp.getRoot(), TrendIndex.FILE_NAME);
+        for (int b = 1; b <= 5000; b++) {
+            TrendIndex.append(f, b, "SAST", new long[] {b, 0, 0, 0, 0}, 1000L * b, ALL);
+            TrendIndex.append(f, b, "IAC", new long[] {0, 2, 0, 0, 0}, 1000L * b + 1, ALL);
+        }
+
+        List<TrendIndex.TrendPoint> tail = TrendIndex.tail(f, 3, ALL);
+
+        assertEquals(3, tail.size());
+        assertEquals(4998, tail.get(0).getBuild());
+        assertEquals(5000, tail.get(2).getBuild());
+        assertEquals(5002, tail.get(2).getTotal());
+        assertArrayEquals(new long[] {0, 2, 0, 0, 0}, tail.get(2).getCounts().get("IAC"));
+        assertEquals(5000_001L, tail.get(2).getTimestamp());
+    }
+
+    @Test
+    public void tailSkipsBuildsThatNoLongerExist() throws Exception {
+        File f = new File(tmp.getRoot(), TrendIndex.FILE_NAME);
+        for (int b = 1; b <= 10; b++) {
+            TrendIndex.append(f, b, "SAST", new long[] {1, 0, 0, 0, 0}, b, ALL);
+        }
+
+        List<TrendIndex.TrendPoint> tail = TrendIndex.tail(f, 3, n -> n % 2 == 1);
+
+        assertEquals(List.of(5, 7, 9), builds(tail));
+    }
+
+    @Test
+    public void rewrittenIndexIsReadOldestFirst() throws Exception {
+        File f = new File(tmp.getRoot(), TrendIndex.FILE_NAME);
+        TrendIndex.write(f, List.of("1\tSAST\t1,0,0,0,0\t10\n", "2\tSAST\t2,0,0,0,0\t20\n", "torn"));
+
+        assertEquals(List.of(1, 2), builds(TrendIndex.tail(f, 10, ALL)));
+        assertFalse(new File(f.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void compactionKeepsNewestExistingBuilds() throws Exception {
+        File f = new File(tmp.getRoot(), TrendIndex.FILE_NAME);
+        int n = TrendIndex.KEEP_BUILDS + 100;
+        for (int b = 1; b <= n; b++) {
+            TrendIndex.append(f, b, "SAST", new long[] {1, 0, 0, 0, 0}, b, ALL);
+            TrendIndex.append(f, b, "IAC", new long[] {1, 0, 0, 0, 0}, b, ALL);
+        }
+
+        TrendIndex.compact(f, b -> b != n);
+
+        List<String> lines = Files.readAllLines(f.toPath());
+        assertEquals(2 * TrendIndex.KEEP_BUILDS, lines.size());
+        assertTrue(lines.get(0).startsWith((n - TrendIndex.KEEP_BUILDS) + "\t"));
+        assertTrue(lines.get(lines.size() - 1).startsWith((n - 1) + "\tIAC\t"));
+    }
+
+    @Test
+    public void appendCompactsOnceTheFileIsTooLarge() throws Exception {
+        File f = new File(tmp.getRoot(), TrendIndex.FILE_NAME);
+        for (int b = 1; f.length() <= TrendIndex.MAX_BYTES; b++) {
+            TrendIndex.append(f, b, "SAST", new long[] {1, 2, 3, 4, 5}, System.currentTimeMillis(), ALL);
+        }
+        long full = f.length();
+
+        TrendIndex.append(f, Integer.MAX_VALUE, "SAST", new long[] {1, 0, 0, 0, 0}, 0, ALL);
+
+        assertTrue(f.length() < full);
+        assertEquals(TrendIndex.KEEP_BUILDS + 1, Files.readAllLines(f.toPath()).size());
+    }
+
+    private static List<Integer> builds(List<TrendIndex.TrendPoint> points) {
+        List<Integer> out = new ArrayList<>();
+        for (TrendIndex.TrendPoint p : points) out.add(p.getBuild());
+        return out;
+    }
+}
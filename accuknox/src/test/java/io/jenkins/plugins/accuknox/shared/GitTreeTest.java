@@ -0,0 +1,27 @@
+package io.jenkins.plugins.accuknox.shared;
+
+import io.jenkins.plugins.accuknox.workspace.IgnoreRules;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GitTreeTest {
+
+    @Test
+    public void everythingCountsWithoutRules() {
+        assertFalse(GitTree.isExcluded(null, "target/app.jar", false));
+        assertFalse(GitTree.isExcluded(null, "node_modules", true));
+    }
+
+    @Test
+    public void excludedByItselfOrAParentDirectory() {
+        IgnoreRules rules = new IgnoreRules().addAll(IgnoreRules.DEFAULTS).add("*.log");
+        assertTrue(GitTree.isExcluded(rules, "target", true));
+        assertTrue(GitTree.isExcluded(rules, "target/classes/A.class", false));
+        assertTrue(GitTree.isExcluded(rules, "web/node_modules/x/index.js", false));
+        assertTrue(GitTree.isExcluded(rules, "logs/run.log", false));
+        assertFalse(GitTree.isExcluded(rules, ".env", false));
+        assertFalse(GitTree.isExcluded(rules, "src/target.txt", false));
+    }
+}
@@ -0,0 +1,84 @@
+package io.jenkins.plugins.accuknox.shared;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ScanCoalescerTest {
+
+    @Test
+    public void firstAcquirerLeadsAndLaterOnesFollow() {
+        ScanCoalescer.Ticket leader = ScanCoalescer.acquire("lead-follow", "job #1");
+        ScanCoalescer.Ticket follower = ScanCoalescer.acquire("lead-follow", "job #2");
+        try {
+            assertTrue(leader.isLeader());
+            assertFalse(follower.isLeader());
+            assertEquals("job #1", follower.getOwner());
+        } finally {
+            leader.abandon();
+        }
+    }
+
+    @Test
+    public void followerReceivesTheLeadersOutcome() throws Exception {
+        ScanCoalescer.Ticket leader = ScanCoalescer.acquire("complete", "job #1");
+        ScanCoalescer.Ticket follower = ScanCoalescer.acquire("complete", "job #2");
+        ScanOutcome outcome = new ScanOutcome("job #1", 0, null, null, List.of("done"), null, false, false);
+
+        Thread t = new Thread(() -> leader.complete(outcome));
+        t.start();
+
+        assertSame(outcome, follower.await(10, TimeUnit.SECONDS));
+        t.join();
+        assertTrue("key is freed once the leader completes",
+                ScanCoalescer.acquire("complete", "job #3").isLeader());
+    }
+
+    @Test
+    public void abandonReleasesFollowersAndFreesTheKey() throws Exception {
+        ScanCoalescer.Ticket leader = ScanCoalescer.acquire("abandon", "job #1");
+        ScanCoalescer.Ticket follower = ScanCoalescer.acquire("abandon", "job #2");
+
+        leader.abandon();
+
+        try {
+            follower.await(10, TimeUnit.SECONDS);
+            fail("expected LeaderAbandonedException");
+        } catch (ScanCoalescer.LeaderAbandonedException e) {
+            assertTrue(e.getMessage().contains("job #1"));
+        }
+        ScanCoalescer.Ticket next = ScanCoalescer.acquire("abandon", "job #2");
+        try {
+            assertTrue(next.isLeader());
+        } finally {
+            next.abandon();
+        }
+    }
+
+    @Test
+    public void followersCannotCompleteOrAbandon() throws Exception {
+        ScanCoalescer.Ticket leader = ScanCoalescer.acquire("follower-only", "job #1");
+        ScanCoalescer.Ticket follower = ScanCoalescer.acquire("follower-only", "job #2");
+        try {
+            follower.abandon();
+            follower.complete(new ScanOutcome("job #2", 0, null, null, List.of(), null, false, false));
+            assertFalse(ScanCoalescer.acquire("follower-only", "job #3").isLeader());
+            try {
+                follower.await(50, TimeUnit.MILLISECONDS);
+                fail("expected the follower to keep waiting");
+            } catch (TimeoutException expected) {
+                // still waiting for job #1
+            }
+        } finally {
+            leader.abandon();
+        }
+    }
+}
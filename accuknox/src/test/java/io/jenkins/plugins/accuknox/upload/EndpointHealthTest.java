@@ -0,0 +1,128 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class EndpointHealthTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private StubServer server;
+    private EndpointHealth health;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StubServer();
+        health = new EndpointHealth(server.uri(), now::get);
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void healthyStateIsCachedBetweenProbes() throws Exception {
+        assertEquals(EndpointHealth.State.CLOSED, health.check());
+        assertEquals("HEAD", server.requests().get(0).method);
+
+        now.addAndGet(EndpointHealth.PROBE_TTL_MS - 1);
+        assertEquals(EndpointHealth.State.CLOSED, health.check());
+        assertEquals(1, server.requests().size());
+
+        now.addAndGet(1);
+        assertEquals(EndpointHealth.State.CLOSED, health.check());
+        assertEquals(2, server.requests().size());
+    }
+
+    @Test
+    public void failedProbeOpensCircuit() throws Exception {
+        server.otherwise(503);
+
+        assertEquals(EndpointHealth.State.OPEN, health.check());
+        assertEquals("HTTP 503", health.getLastError());
+        assertEquals(EndpointHealth.OPEN_MS, health.getRetryInMillis());
+
+        now.addAndGet(EndpointHealth.OPEN_MS - 1);
+        assertEquals(EndpointHealth.State.OPEN, health.check());
+        assertEquals("no probe while open", 1, server.requests().size());
+    }
+
+    @Test
+    public void failedHalfOpenProbeDoublesOpenPeriod() throws Exception {
+        server.otherwise(503);
+        long openFor = EndpointHealth.OPEN_MS;
+        assertEquals(EndpointHealth.State.OPEN, health.check());
+
+        for (int i = 0; i < 6; i++) {
+            now.addAndGet(openFor);
+            assertEquals(EndpointHealth.State.OPEN, health.check());
+            openFor = Math.min(EndpointHealth.MAX_OPEN_MS, openFor * 2);
+            assertEquals(openFor, health.getRetryInMillis());
+        }
+        assertEquals(EndpointHealth.MAX_OPEN_MS, health.getRetryInMillis());
+        assertEquals(7, server.requests().size());
+    }
+
+    @Test
+    public void successfulHalfOpenProbeClosesCircuit() throws Exception {
+        server.respond(503, 503);
+        assertEquals(EndpointHealth.State.OPEN, health.check());
+        now.addAndGet(EndpointHealth.OPEN_MS);
+        assertEquals(EndpointHealth.State.OPEN, health.check());
+
+        now.addAndGet(2 * EndpointHealth.OPEN_MS);
+        assertEquals(EndpointHealth.State.CLOSED, health.check());
+        assertEquals(0, health.getRetryInMillis());
+
+        // a later outage starts again from the shortest open period
+        server.respond(503);
+        now.addAndGet(EndpointHealth.PROBE_TTL_MS);
+        assertEquals(EndpointHealth.State.OPEN, health.check());
+        assertEquals(EndpointHealth.OPEN_MS, health.getRetryInMillis());
+    }
+
+    @Test
+    public void consecutiveUploadFailuresOpenCircuit() throws Exception {
+        assertEquals(EndpointHealth.State.CLOSED, health.check());
+
+        for (int i = 1; i < EndpointHealth.FAILURE_THRESHOLD; i++) {
+            health.record(failed("HTTP 502"));
+        }
+        assertEquals(EndpointHealth.State.CLOSED, health.check());
+
+        health.record(failed("HTTP 502"));
+        assertEquals(EndpointHealth.State.OPEN, health.check());
+        assertEquals("HTTP 502", health.getLastError());
+        assertEquals(1, server.requests().size());
+    }
+
+    @Test
+    public void answeredUploadResetsFailures() throws Exception {
+        for (int i = 1; i < EndpointHealth.FAILURE_THRESHOLD; i++) {
+            health.record(failed("HTTP 502"));
+        }
+        UploadReport rejected = new UploadReport();
+        rejected.rejected = 1;
+        health.record(rejected);
+
+        for (int i = 1; i < EndpointHealth.FAILURE_THRESHOLD; i++) {
+            health.record(failed("HTTP 502"));
+        }
+        assertEquals(0, health.getRetryInMillis());
+        health.record(failed("HTTP 502"));
+        assertEquals(EndpointHealth.OPEN_MS, health.getRetryInMillis());
+    }
+
+    private static UploadReport failed(String error) {
+        UploadReport r = new UploadReport();
+        r.failures = 1;
+        r.lastError = error;
+        return r;
+    }
+}
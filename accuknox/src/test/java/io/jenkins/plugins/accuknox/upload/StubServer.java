@@ -0,0 +1,87 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local HTTP endpoint for upload tests: answers each request with the next
+ * queued status (or the fallback status) and records what it received.
+ */
+final class StubServer implements AutoCloseable {
+
+    /** A request as received. */
+    static final class Request {
+        final String method;
+        final URI uri;
+        final Headers headers;
+        final byte[] body;
+
+        Request(String method, URI uri, Headers headers, byte[] body) {
+            this.method  = method;
+            this.uri     = uri;
+            this.headers = headers;
+            this.body    = body;
+        }
+    }
+
+    private final HttpServer server;
+    private final Deque<Integer> statuses = new ArrayDeque<>();
+    private final List<Request> requests = new ArrayList<>();
+    private int fallback = 200;
+
+    StubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            int status;
+            synchronized (this) {
+                requests.add(new Request(exchange.getRequestMethod(), exchange.getRequestURI(),
+                        exchange.getRequestHeaders(), body));
+                status = statuses.isEmpty() ? fallback : statuses.removeFirst();
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    URI uri() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+    }
+
+    /** Answers the next requests with {@code codes}, in order. */
+    synchronized StubServer respond(int... codes) {
+        for (int c : codes) {
+            statuses.addLast(c);
+        }
+        return this;
+    }
+
+    /** Answers requests with {@code code} once the queued statuses are used up. */
+    synchronized StubServer otherwise(int code) {
+        fallback = code;
+        return this;
+    }
+
+    synchronized List<Request> requests() {
+        return new ArrayList<>(requests);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,131 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class UploadClientTest {
+
+    private static final String TOKEN = "s3cr3t-token";
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private StubServer server;
+    private ResultSpool spool;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StubServer();
+        spool = new ResultSpool(tmp.newFolder("spool"));
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void sendsPlainMultipart() throws Exception {
+        SpooledBatch batch = spoolOne("{\"results\":[]}");
+
+        UploadClient.Result r = client(1).send(batch);
+
+        assertEquals(UploadClient.Status.SENT, r.getStatus());
+        List<StubServer.Request> reqs = server.requests();
+        assertEquals(1, reqs.size());
+        StubServer.Request req = reqs.get(0);
+        assertEquals("POST", req.method);
+        assertTrue(req.uri.getPath().startsWith(UploadClient.ARTIFACT_PATH));
+        assertTrue(req.uri.getQuery().contains("data_type=TR"));
+        assertEquals("Bearer " + TOKEN, req.headers.getFirst("Authorization"));
+        assertNull(req.headers.getFirst("Content-Encoding"));
+        assertEquals(String.valueOf(batch.getLength()), req.headers.getFirst("Content-Length"));
+        String body = new String(req.body, StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("--" + batch.getBoundary()));
+        assertTrue(body.contains("{\"results\":[]}"));
+    }
+
+    @Test
+    public void retriesServerErrors() throws Exception {
+        server.respond(503);
+
+        UploadClient.Result r = client(2).send(spoolOne("{}"));
+
+        assertEquals(UploadClient.Status.SENT, r.getStatus());
+        assertEquals(2, server.requests().size());
+    }
+
+    @Test
+    public void doesNotRetryClientErrors() throws Exception {
+        server.respond(400);
+
+        UploadClient.Result r = client(3).send(spoolOne("{}"));
+
+        assertEquals(UploadClient.Status.REJECTED, r.getStatus());
+        assertEquals("HTTP 400", r.getDetail());
+        assertEquals(1, server.requests().size());
+    }
+
+    @Test
+    public void keepsBatchSpooledUntilALaterDrain() throws Exception {
+        spoolOne("{\"n\":1}");
+        long deadline = System.currentTimeMillis() + 60_000L;
+
+        server.otherwise(503);
+        UploadReport first = BackgroundUploader.drain(spool, client(1), deadline, new UploadReport());
+        assertEquals(0, first.sent);
+        assertEquals(1, first.failures);
+        assertEquals(1, first.pending);
+        assertEquals("HTTP 503", first.getLastError());
+        assertEquals(1, spool.pending().size());
+
+        server.otherwise(200);
+        UploadReport second = BackgroundUploader.drain(spool, client(1), deadline, new UploadReport());
+        assertEquals(1, second.sent);
+        assertEquals(0, second.pending);
+        assertTrue(spool.pending().isEmpty());
+        List<StubServer.Request> reqs = server.requests();
+        assertEquals(2, reqs.size());
+        assertTrue(new String(reqs.get(1).body, StandardCharsets.UTF_8).contains("{\"n\":1}"));
+    }
+
+    @Test
+    public void redactsTokenFromDetails() throws Exception {
+        String token = "abc\ndef"; // not a valid header value, quoted by the HTTP client's error
+        UploadClient client = new UploadClient(server.uri(), token, 1, Duration.ofSeconds(10));
+
+        UploadClient.Result r = client.send(spoolOne("{}"));
+
+        assertEquals(UploadClient.Status.REJECTED, r.getStatus());
+        assertFalse(r.getDetail(), r.getDetail().contains(token));
+        assertTrue(server.requests().isEmpty());
+        assertEquals("HTTP 401 for Bearer ***", client(1).redact("HTTP 401 for Bearer " + TOKEN));
+    }
+
+    private UploadClient client(int maxAttempts) {
+        return new UploadClient(server.uri(), TOKEN, maxAttempts, Duration.ofSeconds(10));
+    }
+
+    private SpooledBatch spoolOne(String json) throws IOException {
+        File f = tmp.newFile("results-" + System.nanoTime() + ".json");
+        Files.write(f.toPath(), json.getBytes(StandardCharsets.UTF_8));
+        List<SpooledBatch> batches = spool.spool("TR", "label", List.of(f), 1L << 20);
+        assertEquals(1, batches.size());
+        return batches.get(0);
+    }
+}
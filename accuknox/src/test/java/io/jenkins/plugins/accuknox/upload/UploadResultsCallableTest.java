@@ -0,0 +1,83 @@
+package io.jenkins.plugins.accuknox.upload;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UploadResultsCallableTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private StubServer server;
+    private File spoolRoot;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StubServer();
+        spoolRoot = tmp.newFolder("spool");
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void reportsAnEmptyResultsDirectory() throws Exception {
+        File results = tmp.newFolder("results");
+
+        UploadReport r = callable(5).invoke(results, null);
+
+        assertEquals(0, r.getFiles());
+        assertEquals(0, r.getBatches());
+        assertTrue(server.requests().isEmpty());
+    }
+
+    @Test
+    public void uploadsAndDropsResultsOnceSpooled() throws Exception {
+        File results = tmp.newFolder("results");
+        Files.write(new File(results, "a.json").toPath(), "{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(results, "b.json").toPath(), "{\"b\":2}".getBytes(StandardCharsets.UTF_8));
+
+        UploadReport r = callable(5).invoke(results, null);
+
+        assertEquals(2, r.getFiles());
+        assertEquals(1, r.getBatches());
+        assertEquals(1, r.getSent());
+        assertFalse(results.exists());
+        assertEquals(1, server.requests().size());
+    }
+
+    @Test
+    public void keepsUnsentResultsInTheSpool() throws Exception {
+        File results = tmp.newFolder("results");
+        Files.write(new File(results, "a.json").toPath(), "{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        server.otherwise(503); // also for the background uploader the callable hands the batch to
+
+        UploadReport r = callable(0).invoke(results, null);
+
+        assertEquals(0, r.getSent());
+        assertEquals(1, r.getPending());
+        assertFalse(results.exists());
+        ResultSpool spool = new ResultSpool(new File(spoolRoot,
+                UploadResultsCallable.spoolKey(server.uri().toString(), "token")));
+        assertEquals(1, spool.pending().size());
+    }
+
+    private UploadResultsCallable callable(int syncSeconds) {
+        return new UploadResultsCallable(spoolRoot.getPath(), server.uri().toString(), "token", "TR", "label",
+                syncSeconds);
+    }
+}
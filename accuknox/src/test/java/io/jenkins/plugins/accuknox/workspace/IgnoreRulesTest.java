@@ -0,0 +1,105 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IgnoreRulesTest {
+
+    @Test
+    public void patternWithoutSlashMatchesAtAnyDepth() {
+        IgnoreRules r = rules("*.log");
+        assertTrue(r.isIgnored("a.log", false));
+        assertTrue(r.isIgnored("x/y/a.log", false));
+        assertFalse(r.isIgnored("a.log.txt", false));
+    }
+
+    @Test
+    public void slashAnchorsToRoot() {
+        IgnoreRules r = rules("/build", "docs/*.md");
+        assertTrue(r.isIgnored("build", true));
+        assertFalse(r.isIgnored("src/build", true));
+        assertTrue(r.isIgnored("docs/a.md", false));
+        assertFalse(r.isIgnored("x/docs/a.md", false));
+        assertFalse("* does not cross directories", r.isIgnored("docs/sub/a.md", false));
+    }
+
+    @Test
+    public void trailingSlashMatchesDirectoriesOnly() {
+        IgnoreRules r = rules("tmp/");
+        assertTrue(r.isIgnored("tmp", true));
+        assertTrue(r.isIgnored("a/tmp", true));
+        assertFalse(r.isIgnored("tmp", false));
+    }
+
+    @Test
+    public void lastMatchingRuleWins() {
+        IgnoreRules r = rules("*.log", "!keep.log");
+        assertTrue(r.isIgnored("drop.log", false));
+        assertFalse(r.isIgnored("keep.log", false));
+        assertFalse(r.isIgnored("a/keep.log", false));
+
+        IgnoreRules reversed = rules("!keep.log", "*.log");
+        assertTrue(reversed.isIgnored("keep.log", false));
+    }
+
+    @Test
+    public void negationReincludesDirectory() {
+        IgnoreRules r = rules("vendor/", "!/vendor/");
+        assertFalse(r.isIgnored("vendor", true));
+        assertTrue(r.isIgnored("lib/vendor", true));
+    }
+
+    @Test
+    public void doubleStar() {
+        IgnoreRules r = rules("**/cache", "a/**/b", "logs/**");
+        assertTrue(r.isIgnored("cache", true));
+        assertTrue(r.isIgnored("x/y/cache", false));
+        assertTrue(r.isIgnored("a/b", false));
+        assertTrue(r.isIgnored("a/x/y/b", false));
+        assertFalse(r.isIgnored("z/a/b", false));
+        assertTrue(r.isIgnored("logs/x/y.txt", false));
+        assertFalse(r.isIgnored("logs", true));
+    }
+
+    @Test
+    public void characterClassesAndWildcards() {
+        IgnoreRules r = rules("file?.txt", "v[0-9].bin", "[!a]x");
+        assertTrue(r.isIgnored("file1.txt", false));
+        assertFalse(r.isIgnored("file10.txt", false));
+        assertFalse(r.isIgnored("file/.txt", false));
+        assertTrue(r.isIgnored("v7.bin", false));
+        assertFalse(r.isIgnored("vx.bin", false));
+        assertTrue(r.isIgnored("bx", false));
+        assertFalse(r.isIgnored("ax", false));
+    }
+
+    @Test
+    public void commentsBlanksAndEscapes() {
+        IgnoreRules r = rules("# comment", "", "   ", "\\#hash", "\\!bang", "trailing   ", "a.b");
+        assertFalse(r.isIgnored("# comment", false));
+        assertTrue(r.isIgnored("#hash", false));
+        assertTrue(r.isIgnored("!bang", false));
+        assertTrue(r.isIgnored("trailing", false));
+        assertFalse("dots are literal", r.isIgnored("axb", false));
+    }
+
+    @Test
+    public void defaultsSkipVcsAndBuildOutput() {
+        IgnoreRules r = new IgnoreRules().addAll(IgnoreRules.DEFAULTS);
+        assertTrue(r.isIgnored(".git", true));
+        assertTrue(r.isIgnored("web/node_modules", true));
+        assertTrue(r.isIgnored("module/target", true));
+        assertFalse("a file named like a default directory is kept", r.isIgnored("build", false));
+        assertFalse(r.isIgnored("src/main/App.java", false));
+        assertTrue(new IgnoreRules().isEmpty());
+        assertFalse(r.isEmpty());
+    }
+
+    private static IgnoreRules rules(String... lines) {
+        return new IgnoreRules().addAll(List.of(lines));
+    }
+}
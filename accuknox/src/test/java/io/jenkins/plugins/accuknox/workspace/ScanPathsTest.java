@@ -0,0 +1,93 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class ScanPathsTest {
+
+    @Test
+    public void normaliseDropsDotsAndSlashes() {
+        assertEquals("a/b", ScanPaths.normalise("./a//b/"));
+        assertEquals("a/b", ScanPaths.normalise(" /a/./b "));
+        assertEquals("a/b", ScanPaths.normalise("a\\b"));
+    }
+
+    @Test
+    public void normaliseMapsEmptyToRoot() {
+        assertEquals(".", ScanPaths.normalise(null));
+        assertEquals(".", ScanPaths.normalise(""));
+        assertEquals(".", ScanPaths.normalise("./"));
+        assertEquals(".", ScanPaths.normalise("a/.."));
+    }
+
+    @Test
+    public void normaliseResolvesParentSegments() {
+        assertEquals("b", ScanPaths.normalise("a/../b"));
+        assertEquals("a/c", ScanPaths.normalise("a/b/../c"));
+    }
+
+    @Test
+    public void normaliseRejectsPathsOutsideWorkspace() {
+        assertThrows(IllegalArgumentException.class, () -> ScanPaths.normalise(".."));
+        assertThrows(IllegalArgumentException.class, () -> ScanPaths.normalise("a/../../b"));
+    }
+
+    @Test
+    public void resolveStaysInsideTheWorkspace() {
+        Path root = Path.of("/ws");
+        assertEquals(root, ScanPaths.resolve(root, "./"));
+        assertEquals(Path.of("/ws/src/main"), ScanPaths.resolve(root, "/src//main/"));
+        assertNull(ScanPaths.resolve(root, "../other"));
+    }
+
+    @Test
+    public void collapseKeepsOutermostPaths() {
+        assertEquals(List.of("a", "b/c"), ScanPaths.collapse(List.of("b/c/d", "a/x", "a", "b/c", "a")));
+    }
+
+    @Test
+    public void collapseDoesNotTreatSiblingPrefixAsAncestor() {
+        // "a-b" sorts between "a" and "a/b"
+        assertEquals(List.of("a", "a-b", "ab"), ScanPaths.collapse(List.of("ab", "a/b", "a-b", "a")));
+    }
+
+    @Test
+    public void collapseRootCoversEverything() {
+        assertEquals(List.of("."), ScanPaths.collapse(List.of("a", ".", "b/c")));
+    }
+
+    @Test
+    public void isGlob() {
+        assertTrue(ScanPaths.isGlob("services/*-api"));
+        assertTrue(ScanPaths.isGlob("a?.tf"));
+        assertTrue(ScanPaths.isGlob("[ab]/x"));
+        assertFalse(ScanPaths.isGlob("services/api"));
+    }
+
+    @Test
+    public void inContainer() {
+        assertEquals("/scan", ScanPaths.inContainer("."));
+        assertEquals("/scan/a/b", ScanPaths.inContainer("a/b"));
+    }
+
+    @Test
+    public void literalPrefixStopsAtFirstGlobSegment() {
+        assertEquals("services", ScanPathExpansion.literalPrefix("services/*-api/"));
+        assertEquals("infra/modules", ScanPathExpansion.literalPrefix("infra/modules/**/*.tf"));
+        assertEquals("", ScanPathExpansion.literalPrefix("*/src"));
+        assertEquals("", ScanPathExpansion.literalPrefix("*.tf"));
+    }
+
+    @Test
+    public void literalPrefixExcludesLastSegment() {
+        assertEquals("a/b", ScanPathExpansion.literalPrefix("a/b/c"));
+    }
+}
@@ -0,0 +1,100 @@
+package io.jenkins.plugins.accuknox.workspace;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class WorkspaceTransferTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void streamsScanPathsThroughTheIgnoreRules() throws Exception {
+        Path root = tmp.newFolder("ws").toPath();
+        write(root, "src/App.java", "class App {}");
+        write(root, "src/app.log", "noise");
+        write(root, "src/target/Gen.java", "generated");
+        write(root, "src/node_modules/x/index.js", "dep");
+        write(root, "lib/util.py", "pass");
+        write(root, "docs/readme.md", "not a scan path");
+        write(root, IgnoreRules.FILE_NAME, "*.log\n");
+        Files.createSymbolicLink(root.resolve("lib/link.py"), Path.of("util.py"));
+        Files.createSymbolicLink(root.resolve("lib/abs.py"), root.resolve("lib/util.py"));
+
+        IgnoreRules rules = WorkspaceSnapshot.loadRules(root, IgnoreRules.DEFAULTS);
+        SnapshotStats stats = new SnapshotStats();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WorkspaceTransfer.archive(root, List.of("src", "lib", "../outside", "missing"), rules, out, stats);
+
+        Map<String, String> entries = entries(out.toByteArray());
+        assertEquals(Set.of("scan/", "scan/src/", "scan/src/App.java", "scan/lib/", "scan/lib/link.py",
+                "scan/lib/util.py"), entries.keySet());
+        assertEquals("class App {}", entries.get("scan/src/App.java"));
+        assertEquals("util.py", entries.get("scan/lib/link.py"));
+        assertEquals(2, stats.getFiles());
+        assertEquals(3, stats.getIgnored());
+    }
+
+    private static void write(Path root, String rel, String content) throws IOException {
+        Path p = root.resolve(rel);
+        Files.createDirectories(p.getParent());
+        Files.write(p, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Entry name to content (link target for symbolic links); plain ustar only. */
+    private static Map<String, String> entries(byte[] tgz) throws IOException {
+        Map<String, String> out = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(tgz)))) {
+            byte[] header = new byte[512];
+            while (true) {
+                try {
+                    in.readFully(header);
+                } catch (EOFException e) {
+                    break;
+                }
+                String name = field(header, 0, 100);
+                if (name.isEmpty()) {
+                    break;
+                }
+                String prefix = field(header, 345, 155);
+                if (!prefix.isEmpty()) {
+                    name = prefix + "/" + name;
+                }
+                int size = Integer.parseInt(field(header, 124, 12).trim(), 8);
+                byte[] body = new byte[size];
+                in.readFully(body);
+                skip(in, (512 - size % 512) % 512);
+                out.put(name, header[156] == '2' ? field(header, 157, 100) : new String(body, StandardCharsets.UTF_8));
+            }
+        }
+        return out;
+    }
+
+    private static String field(byte[] header, int off, int len) {
+        int end = off;
+        while (end < off + len && header[end] != 0) end++;
+        return new String(header, off, end - off, StandardCharsets.UTF_8);
+    }
+
+    private static void skip(InputStream in, int n) throws IOException {
+        in.readNBytes(new byte[n], 0, n);
+    }
+}